@@ -0,0 +1,7 @@
+package com.astronautscheduler;
+
+// Observer Pattern Interface
+interface Observer {
+
+    void update(String message);
+}
@@ -0,0 +1,16 @@
+package com.astronautscheduler;
+
+enum Priority {
+    LOW(1), MEDIUM(2), HIGH(3);
+
+    private final int weight;
+
+    Priority(int weight) {
+        this.weight = weight;
+    }
+
+    // Used by ScheduleResolver when choosing which conflicting tasks to keep
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,210 @@
+package com.astronautscheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.CRC32;
+
+// Replays an operation trace against ScheduleManager and reports throughput,
+// latency percentiles and a checksum of the final schedule.
+//
+// With several threads, workers claim operations in trace order but each mutation
+// waits until every earlier mutation has been applied; views run freely. Mutation
+// order therefore always matches the trace, so outcome counts and the final
+// checksum are identical for any thread count while the manager's locking is
+// still exercised concurrently.
+class ReplayEngine {
+
+    private static final ScheduleResult.Status[] STATUSES = ScheduleResult.Status.values();
+    private static final int SPINS_BEFORE_YIELD = 100;
+
+    private final ScheduleManager manager;
+
+    public ReplayEngine(ScheduleManager manager) {
+        this.manager = manager;
+    }
+
+    public Report replay(List<ScheduleOperation> operations, int threads) throws InterruptedException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        ScheduleOperation[] trace = operations.toArray(new ScheduleOperation[0]);
+        int count = trace.length;
+
+        // Tasks are built up front so their allocation is not timed
+        Task[] tasks = new Task[count];
+        int[] mutationSequence = new int[count];
+        int mutations = 0;
+        for (int i = 0; i < count; i++) {
+            ScheduleOperation.Kind kind = trace[i].getKind();
+            if (kind == ScheduleOperation.Kind.ADD || kind == ScheduleOperation.Kind.EDIT) {
+                tasks[i] = trace[i].toTask();
+            }
+            mutationSequence[i] = kind.isMutation() ? mutations++ : -1;
+        }
+
+        manager.reset();
+        long[] latencies = new long[count];
+        AtomicLongArray outcomes = new AtomicLongArray(STATUSES.length);
+        AtomicInteger nextOperation = new AtomicInteger();
+        AtomicInteger appliedMutations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                int i;
+                while ((i = nextOperation.getAndIncrement()) < count) {
+                    int sequence = mutationSequence[i];
+                    if (sequence >= 0) {
+                        awaitTurn(appliedMutations, sequence);
+                    }
+                    long started = System.nanoTime();
+                    ScheduleResult result = execute(trace[i], tasks[i]);
+                    latencies[i] = System.nanoTime() - started;
+                    if (sequence >= 0) {
+                        outcomes.incrementAndGet(result.getStatus().ordinal());
+                        appliedMutations.incrementAndGet();
+                    }
+                }
+            }, "replay-" + t);
+            workers[t].start();
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - began;
+
+        Arrays.sort(latencies);
+        long[] outcomeCounts = new long[STATUSES.length];
+        for (int s = 0; s < outcomeCounts.length; s++) {
+            outcomeCounts[s] = outcomes.get(s);
+        }
+        List<Task> finalTasks = manager.viewAllTasks();
+        return new Report(count, threads, elapsed, latencies, outcomeCounts, finalTasks.size(), checksum(finalTasks));
+    }
+
+    // Spins briefly, then yields so a descheduled predecessor can finish on small machines
+    private static void awaitTurn(AtomicInteger appliedMutations, int sequence) {
+        int spins = 0;
+        while (appliedMutations.get() != sequence) {
+            if (++spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    private ScheduleResult execute(ScheduleOperation operation, Task task) {
+        return switch (operation.getKind()) {
+            case ADD ->
+                manager.tryAddTask(task);
+            case REMOVE ->
+                manager.tryRemoveTask(operation.getDescription());
+            case EDIT ->
+                manager.tryEdit(operation.getDescription(), task);
+            case COMPLETE ->
+                manager.tryCompleteTask(operation.getDescription());
+            case VIEW -> {
+                if (operation.getPriority() == null) {
+                    manager.viewAllTasks();
+                } else {
+                    manager.viewTasksByPriority(operation.getPriority());
+                }
+                yield ScheduleResult.success();
+            }
+        };
+    }
+
+    // CRC32 over every task field, in schedule order
+    static long checksum(List<Task> tasks) {
+        CRC32 crc = new CRC32();
+        for (Task task : tasks) {
+            crc.update(task.getDescription().getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+            int start = task.getStartTime().toSecondOfDay();
+            int end = task.getEndTime().toSecondOfDay();
+            crc.update(start >>> 16);
+            crc.update(start >>> 8);
+            crc.update(start);
+            crc.update(end >>> 16);
+            crc.update(end >>> 8);
+            crc.update(end);
+            crc.update(task.getPriority().ordinal());
+            crc.update(task.isCompleted() ? 1 : 0);
+        }
+        return crc.getValue();
+    }
+
+    static class Report {
+
+        private final int operations;
+        private final int threads;
+        private final long elapsedNanos;
+        private final long[] sortedLatencies;
+        private final long[] outcomeCounts;
+        private final int finalTaskCount;
+        private final long checksum;
+
+        private Report(int operations, int threads, long elapsedNanos, long[] sortedLatencies,
+                long[] outcomeCounts, int finalTaskCount, long checksum) {
+            this.operations = operations;
+            this.threads = threads;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencies = sortedLatencies;
+            this.outcomeCounts = outcomeCounts;
+            this.finalTaskCount = finalTaskCount;
+            this.checksum = checksum;
+        }
+
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : operations * 1e9 / elapsedNanos;
+        }
+
+        // Latency in nanoseconds at the given percentile (0-100)
+        public long getLatencyPercentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(sortedLatencies.length - 1, index))];
+        }
+
+        public long getOutcomeCount(ScheduleResult.Status status) {
+            return outcomeCounts[status.ordinal()];
+        }
+
+        public int getFinalTaskCount() {
+            return finalTaskCount;
+        }
+
+        public long getChecksum() {
+            return checksum;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d ops on %d thread(s): %.0f ops/s | latency p50 %d ns, p90 %d ns, p99 %d ns, p99.9 %d ns, max %d ns"
+                    + " | success %d, conflict %d, not found %d | final tasks %d, checksum %08x",
+                    operations, threads, getThroughput(),
+                    getLatencyPercentile(50), getLatencyPercentile(90), getLatencyPercentile(99),
+                    getLatencyPercentile(99.9), getLatencyPercentile(100),
+                    getOutcomeCount(ScheduleResult.Status.SUCCESS),
+                    getOutcomeCount(ScheduleResult.Status.CONFLICT),
+                    getOutcomeCount(ScheduleResult.Status.NOT_FOUND),
+                    finalTaskCount, checksum);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+// Generates (or loads) a schedule operation trace and replays it against the
+// ScheduleManager single-threaded and with several threads, printing a report for each.
+
+// to run this file run below command
+// javac com/astronautscheduler/ReplayHarness.java
+// java com.astronautscheduler.ReplayHarness [seed] [operations] [threads] [trace-file]
+// If trace-file exists it is replayed as recorded; otherwise the generated trace is written to it.
+
+package com.astronautscheduler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ReplayHarness {
+
+    // Held here because LogManager only keeps loggers weakly: a level set on a
+    // logger nobody references can be collected before ScheduleManager creates it
+    private static final Logger SCHEDULE_LOGGER = Logger.getLogger(ScheduleManager.class.getName());
+
+    public static void main(String[] args) throws Exception {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Path traceFile = args.length > 3 ? Paths.get(args[3]) : null;
+
+        // Per-operation logging would dominate the measurement
+        SCHEDULE_LOGGER.setLevel(Level.WARNING);
+
+        List<ScheduleOperation> trace;
+        if (traceFile != null && Files.exists(traceFile)) {
+            trace = ScheduleTrace.read(traceFile);
+            System.out.println("Loaded " + trace.size() + " operations from " + traceFile);
+        } else {
+            WorkloadGenerator.Config config = new WorkloadGenerator.Config.Builder()
+                    .seed(seed)
+                    .operations(operations)
+                    .build();
+            trace = new WorkloadGenerator(config).generate();
+            System.out.println("Generated " + trace.size() + " operations with seed " + seed);
+            if (traceFile != null) {
+                ScheduleTrace.write(traceFile, trace);
+                System.out.println("Trace written to " + traceFile);
+            }
+        }
+
+        ReplayEngine engine = new ReplayEngine(ScheduleManager.getInstance());
+        engine.replay(trace, 1); // warm-up
+        ReplayEngine.Report single = engine.replay(trace, 1);
+        ReplayEngine.Report parallel = engine.replay(trace, threads);
+        System.out.println(single);
+        System.out.println(parallel);
+        System.out.println(single.getChecksum() == parallel.getChecksum()
+                ? "Final states match"
+                : "Final states DIFFER");
+    }
+}
@@ -0,0 +1,12 @@
+package com.astronautscheduler;
+
+// Thrown when a task would overlap an existing one. Conflicts are routine
+// outcomes rather than bugs, so this skips stack trace capture to stay cheap to throw.
+class ScheduleConflictException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    public ScheduleConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,6 @@
+package com.astronautscheduler;
+
+// Kinds of schedule change an Observer can subscribe to
+enum ScheduleEvent {
+    TASK_ADDED, TASK_REMOVED, TASK_EDITED, TASK_COMPLETED, CONFLICT
+}
@@ -0,0 +1,254 @@
+package com.astronautscheduler;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Bounded undo/redo log of schedule mutations. Each step stores only the task
+// state before and after the change, packed into parallel primitive arrays
+// (second-of-day ints, the precision ScheduleResolver compares at, a
+// priority/completed flag byte and an interned description id): 27 bytes per
+// step, so 100k steps take about 2.7 MB plus the distinct descriptions.
+// Sub-second parts of a time are not kept; the console rejects them at input.
+// The arrays form a ring buffer: once full, recording drops the oldest step.
+class ScheduleHistory {
+
+    enum Kind {
+        ADD, REMOVE, EDIT
+    }
+
+    static final int DEFAULT_DEPTH = 100;
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final int COMPLETED_FLAG = 0x80;
+    private static final int NO_TASK = -1;
+
+    private final int capacity;
+    private final byte[] kinds;
+    private final int[] beforeStart;
+    private final int[] beforeEnd;
+    private final int[] afterStart;
+    private final int[] afterEnd;
+    private final int[] beforeDescription;
+    private final int[] afterDescription;
+    private final byte[] beforeFlags;
+    private final byte[] afterFlags;
+    private final DescriptionPool descriptions = new DescriptionPool();
+
+    private int head;    // slot of the oldest recorded step
+    private int size;    // recorded steps, including undone ones available for redo
+    private int applied; // steps currently applied; undo walks this back
+
+    public ScheduleHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("History depth must be positive");
+        }
+        this.capacity = capacity;
+        this.kinds = new byte[capacity];
+        this.beforeStart = new int[capacity];
+        this.beforeEnd = new int[capacity];
+        this.afterStart = new int[capacity];
+        this.afterEnd = new int[capacity];
+        this.beforeDescription = new int[capacity];
+        this.afterDescription = new int[capacity];
+        this.beforeFlags = new byte[capacity];
+        this.afterFlags = new byte[capacity];
+    }
+
+    public void recordAdd(Task added) {
+        record(Kind.ADD, null, added);
+    }
+
+    public void recordRemove(Task removed) {
+        record(Kind.REMOVE, removed, null);
+    }
+
+    public void recordEdit(Task before, Task after) {
+        record(Kind.EDIT, before, after);
+    }
+
+    public boolean canUndo() {
+        return applied > 0;
+    }
+
+    public boolean canRedo() {
+        return applied < size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Step that undo() would revert; call undone() once it has been reverted
+    public Step peekUndo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        return decode(slot(applied - 1));
+    }
+
+    public void undone() {
+        applied--;
+    }
+
+    // Step that redo() would reapply; call redone() once it has been reapplied
+    public Step peekRedo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        return decode(slot(applied));
+    }
+
+    public void redone() {
+        applied++;
+    }
+
+    // Forgets every step, e.g. after a change that cannot be undone
+    public void clear() {
+        for (int offset = 0; offset < size; offset++) {
+            release(slot(offset));
+        }
+        head = 0;
+        size = 0;
+        applied = 0;
+    }
+
+    private void record(Kind kind, Task before, Task after) {
+        // A new change invalidates everything that was undone
+        while (size > applied) {
+            release(slot(--size));
+        }
+        if (size == capacity) {
+            release(head);
+            head = (head + 1) % capacity;
+            size--;
+            applied--;
+        }
+        int slot = slot(size);
+        kinds[slot] = (byte) kind.ordinal();
+        beforeDescription[slot] = encode(before, slot, beforeStart, beforeEnd, beforeFlags);
+        afterDescription[slot] = encode(after, slot, afterStart, afterEnd, afterFlags);
+        size++;
+        applied++;
+    }
+
+    private int encode(Task task, int slot, int[] starts, int[] ends, byte[] flags) {
+        if (task == null) {
+            return NO_TASK;
+        }
+        starts[slot] = task.getStartTime().toSecondOfDay();
+        ends[slot] = task.getEndTime().toSecondOfDay();
+        flags[slot] = (byte) (task.getPriority().ordinal() | (task.isCompleted() ? COMPLETED_FLAG : 0));
+        return descriptions.acquire(task.getDescription());
+    }
+
+    private Task decodeTask(int description, int start, int end, byte flags) {
+        if (description == NO_TASK) {
+            return null;
+        }
+        Task task = TaskFactory.createTask(
+                descriptions.get(description),
+                LocalTime.ofSecondOfDay(start),
+                LocalTime.ofSecondOfDay(end),
+                PRIORITIES[flags & (COMPLETED_FLAG - 1)]);
+        if ((flags & COMPLETED_FLAG) != 0) {
+            task.markCompleted();
+        }
+        return task;
+    }
+
+    private Step decode(int slot) {
+        return new Step(KINDS[kinds[slot]],
+                decodeTask(beforeDescription[slot], beforeStart[slot], beforeEnd[slot], beforeFlags[slot]),
+                decodeTask(afterDescription[slot], afterStart[slot], afterEnd[slot], afterFlags[slot]));
+    }
+
+    private void release(int slot) {
+        descriptions.release(beforeDescription[slot]);
+        descriptions.release(afterDescription[slot]);
+    }
+
+    private int slot(int offset) {
+        return (head + offset) % capacity;
+    }
+
+    // Decoded view of one recorded change
+    static class Step {
+
+        private final Kind kind;
+        private final Task before;
+        private final Task after;
+
+        private Step(Kind kind, Task before, Task after) {
+            this.kind = kind;
+            this.before = before;
+            this.after = after;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        // Task as it was before the change; null for ADD
+        public Task getBefore() {
+            return before;
+        }
+
+        // Task as it was after the change; null for REMOVE
+        public Task getAfter() {
+            return after;
+        }
+    }
+
+    // Reference-counted string table so repeated descriptions are stored once
+    // and ids are recycled when the steps using them fall out of the ring
+    private static class DescriptionPool {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private String[] values = new String[16];
+        private int[] references = new int[16];
+        private int[] freeIds = new int[16];
+        private int freeCount;
+        private int nextId;
+
+        int acquire(String description) {
+            Integer existing = ids.get(description);
+            if (existing != null) {
+                references[existing]++;
+                return existing;
+            }
+            int id;
+            if (freeCount > 0) {
+                id = freeIds[--freeCount];
+            } else {
+                id = nextId++;
+                if (id == values.length) {
+                    values = Arrays.copyOf(values, id * 2);
+                    references = Arrays.copyOf(references, id * 2);
+                }
+            }
+            values[id] = description;
+            references[id] = 1;
+            ids.put(description, id);
+            return id;
+        }
+
+        String get(int id) {
+            return values[id];
+        }
+
+        void release(int id) {
+            if (id == NO_TASK || --references[id] > 0) {
+                return;
+            }
+            ids.remove(values[id]);
+            values[id] = null;
+            if (freeCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+            }
+            freeIds[freeCount++] = id;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.astronautscheduler;
+
+import com.astronautscheduler.Observer;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+// Singleton ScheduleManager
+class ScheduleManager {
+    private static ScheduleManager instance;
+    private final List<Task> tasks;
+    private static final Logger LOGGER = Logger.getLogger(ScheduleManager.class.getName());
+    private final SubscriptionRegistry subscriptions = new SubscriptionRegistry();
+    private ScheduleHistory history = new ScheduleHistory(ScheduleHistory.DEFAULT_DEPTH);
+    private boolean replaying; // set while undo/redo or a nested edit step runs, so it is not recorded
+
+    private ScheduleManager() {
+        tasks = new ArrayList<>();
+    }
+
+    public static synchronized ScheduleManager getInstance() {
+        if (instance == null) {
+            instance = new ScheduleManager();
+        }
+        return instance;
+    }
+
+    // Receives every event, as before topic filtering existed
+    public void addObserver(Observer observer) {
+        subscriptions.add(Subscription.all(observer));
+    }
+
+    public void subscribe(Subscription subscription) {
+        subscriptions.add(subscription);
+    }
+
+    // Drops every subscription held by the observer
+    public void removeObserver(Observer observer) {
+        subscriptions.remove(observer);
+    }
+
+    private Observer[] listenersFor(ScheduleEvent event, Task task) {
+        return subscriptions.listeners(event, task.getPriority(), Subscription.minuteOfDay(task.getStartTime()));
+    }
+
+    private static void notifyObservers(Observer[] listeners, String message) {
+        for (Observer observer : listeners) {
+            observer.update(message);
+        }
+    }
+
+    public void addTask(Task task) throws ScheduleConflictException {
+        if (!tryAddTask(task).isSuccess()) {
+            throw new ScheduleConflictException("Task conflicts with an existing task.");
+        }
+    }
+
+    // Non-throwing variant of addTask; a conflict result names the clashing task
+    public synchronized ScheduleResult tryAddTask(Task task) {
+        Task conflicting = findConflict(task, null);
+        if (conflicting != null) {
+            notifyConflict(task);
+            return ScheduleResult.conflict(conflicting);
+        }
+        tasks.add(task);
+        Collections.sort(tasks);
+        LOGGER.info(() -> "Task added successfully: " + task);
+        if (!replaying) {
+            history.recordAdd(task);
+        }
+        Observer[] listeners = listenersFor(ScheduleEvent.TASK_ADDED, task);
+        if (listeners.length > 0) {
+            notifyObservers(listeners, "Task added successfully: " + task.getDescription());
+        }
+        return ScheduleResult.success();
+    }
+
+    public void removeTask(String description) throws TaskNotFoundException {
+        if (!tryRemoveTask(description).isSuccess()) {
+            throw new TaskNotFoundException("Task not found: " + description);
+        }
+    }
+
+    // Non-throwing variant of removeTask
+    public synchronized ScheduleResult tryRemoveTask(String description) {
+        Task taskToRemove = findByDescription(description);
+        if (taskToRemove == null) {
+            return ScheduleResult.notFound();
+        }
+        remove(taskToRemove);
+        return ScheduleResult.success();
+    }
+
+    private void remove(Task taskToRemove) {
+        String description = taskToRemove.getDescription();
+        tasks.remove(taskToRemove);
+        LOGGER.info(() -> "Task removed successfully: " + description);
+        if (!replaying) {
+            history.recordRemove(taskToRemove);
+        }
+        Observer[] listeners = listenersFor(ScheduleEvent.TASK_REMOVED, taskToRemove);
+        if (listeners.length > 0) {
+            notifyObservers(listeners, "Task removed: " + description);
+        }
+    }
+
+    public void completeTask(String description) throws TaskNotFoundException {
+        if (!tryCompleteTask(description).isSuccess()) {
+            throw new TaskNotFoundException("Task not found: " + description);
+        }
+    }
+
+    // Non-throwing variant of completeTask
+    public synchronized ScheduleResult tryCompleteTask(String description) {
+        Task task = findByDescription(description);
+        if (task == null) {
+            return ScheduleResult.notFound();
+        }
+        Task before = replaying || task.isCompleted() ? null : copyOf(task);
+        task.markCompleted();
+        if (before != null) {
+            history.recordEdit(before, task);
+        }
+        LOGGER.info(() -> "Task marked as completed: " + description);
+        Observer[] listeners = listenersFor(ScheduleEvent.TASK_COMPLETED, task);
+        if (listeners.length > 0) {
+            notifyObservers(listeners, "Task completed: " + description);
+        }
+        return ScheduleResult.success();
+    }
+
+    public synchronized List<Task> viewAllTasks() {
+        return new ArrayList<>(tasks);
+    }
+
+    public synchronized List<Task> viewTasksByPriority(Priority priority) {
+        return tasks.stream()
+                .filter(t -> t.getPriority() == priority)
+                .collect(Collectors.toList());
+    }
+
+    public void editTask(String oldDescription, Task newTask) throws TaskNotFoundException, ScheduleConflictException {
+        ScheduleResult result = tryEdit(oldDescription, newTask);
+        if (result.getStatus() == ScheduleResult.Status.NOT_FOUND) {
+            throw new TaskNotFoundException("Task not found: " + oldDescription);
+        }
+        if (result.getStatus() == ScheduleResult.Status.CONFLICT) {
+            throw new ScheduleConflictException("Task conflicts with an existing task.");
+        }
+    }
+
+    // Non-throwing variant of editTask. Conflicts are checked against every task
+    // except the one being replaced, and a failed edit leaves the schedule untouched.
+    public synchronized ScheduleResult tryEdit(String oldDescription, Task newTask) {
+        Task oldTask = findByDescription(oldDescription);
+        if (oldTask == null) {
+            return ScheduleResult.notFound();
+        }
+        return replace(oldTask, newTask);
+    }
+
+    private ScheduleResult replace(Task oldTask, Task newTask) {
+        String oldDescription = oldTask.getDescription();
+        Task conflicting = findConflict(newTask, oldTask);
+        if (conflicting != null) {
+            notifyConflict(newTask);
+            return ScheduleResult.conflict(conflicting);
+        }
+        boolean outerReplaying = replaying;
+        replaying = true;
+        try {
+            remove(oldTask);
+            tryAddTask(newTask);
+        } finally {
+            replaying = outerReplaying;
+        }
+        if (!replaying) {
+            history.recordEdit(oldTask, newTask);
+        }
+        Observer[] listeners = listenersFor(ScheduleEvent.TASK_EDITED, newTask);
+        if (listeners.length > 0) {
+            notifyObservers(listeners, "Task edited: " + oldDescription + " -> " + newTask.getDescription());
+        }
+        return ScheduleResult.success();
+    }
+
+    // Drops every task and the undo history; used to start a replay from an empty day
+    synchronized void reset() {
+        tasks.clear();
+        history = new ScheduleHistory(history.getCapacity());
+    }
+
+    // Keeps at most depth undo steps; resizing discards the current history
+    public synchronized void setHistoryDepth(int depth) {
+        history = new ScheduleHistory(depth);
+    }
+
+    public synchronized boolean canUndo() {
+        return history.canUndo();
+    }
+
+    public synchronized boolean canRedo() {
+        return history.canRedo();
+    }
+
+    // Reverts the most recent recorded change; returns false if there is nothing to undo.
+    // If the schedule no longer holds the recorded task, the step cannot be replayed
+    // and neither can anything behind it, so the whole history is dropped.
+    public synchronized boolean undo() throws TaskNotFoundException, ScheduleConflictException {
+        if (!history.canUndo()) {
+            return false;
+        }
+        ScheduleHistory.Step step = history.peekUndo();
+        replaying = true;
+        try {
+            switch (step.getKind()) {
+                case ADD ->
+                    remove(findRecorded(step.getAfter()));
+                case REMOVE ->
+                    addTask(step.getBefore());
+                case EDIT ->
+                    replaceRecorded(step.getAfter(), step.getBefore());
+            }
+        } catch (TaskNotFoundException | ScheduleConflictException e) {
+            history.clear();
+            throw e;
+        } finally {
+            replaying = false;
+        }
+        history.undone();
+        return true;
+    }
+
+    // Reapplies the most recently undone change; returns false if there is nothing to redo.
+    // A step that cannot be replayed drops the whole history, as in undo().
+    public synchronized boolean redo() throws TaskNotFoundException, ScheduleConflictException {
+        if (!history.canRedo()) {
+            return false;
+        }
+        ScheduleHistory.Step step = history.peekRedo();
+        replaying = true;
+        try {
+            switch (step.getKind()) {
+                case ADD ->
+                    addTask(step.getAfter());
+                case REMOVE ->
+                    remove(findRecorded(step.getBefore()));
+                case EDIT ->
+                    replaceRecorded(step.getBefore(), step.getAfter());
+            }
+        } catch (TaskNotFoundException | ScheduleConflictException e) {
+            history.clear();
+            throw e;
+        } finally {
+            replaying = false;
+        }
+        history.redone();
+        return true;
+    }
+
+    // Replaces the whole schedule with a resolver's conflict-free selection in one
+    // step. Current tasks that are not among the accepted ones are dropped, so
+    // resolve over viewAllTasks() plus any new candidates to keep them in play.
+    public synchronized void replaceWithResolution(ScheduleResolver.Resolution resolution) throws ScheduleConflictException {
+        List<Task> accepted = new ArrayList<>(resolution.getAccepted());
+        Collections.sort(accepted);
+        Task latestEnding = null;
+        for (Task task : accepted) {
+            if (latestEnding != null && latestEnding.conflicts(task)) {
+                throw new ScheduleConflictException("Resolution is not conflict-free: " + task.getDescription());
+            }
+            if (latestEnding == null || task.getEndTime().isAfter(latestEnding.getEndTime())) {
+                latestEnding = task;
+            }
+        }
+        List<Task> previous = new ArrayList<>(tasks);
+        tasks.clear();
+        tasks.addAll(accepted);
+        history.clear(); // a wholesale replacement is not a recorded step
+        LOGGER.info("Resolution applied: " + accepted.size() + " tasks, total weight " + resolution.getTotalWeight());
+
+        Set<Task> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        kept.addAll(accepted);
+        for (Task task : previous) {
+            if (!kept.remove(task)) {
+                Observer[] listeners = listenersFor(ScheduleEvent.TASK_REMOVED, task);
+                if (listeners.length > 0) {
+                    notifyObservers(listeners, "Task removed: " + task.getDescription());
+                }
+            }
+        }
+        for (Task task : kept) {
+            Observer[] listeners = listenersFor(ScheduleEvent.TASK_ADDED, task);
+            if (listeners.length > 0) {
+                notifyObservers(listeners, "Task added successfully: " + task.getDescription());
+            }
+        }
+    }
+
+    // Steps are replayed against the task they recorded, matched on description
+    // and times (to the second, as ScheduleHistory keeps them) rather than
+    // description alone, which need not be unique
+    private Task findRecorded(Task recorded) throws TaskNotFoundException {
+        int start = recorded.getStartTime().toSecondOfDay();
+        int end = recorded.getEndTime().toSecondOfDay();
+        for (Task task : tasks) {
+            if (task.getDescription().equals(recorded.getDescription())
+                    && task.getStartTime().toSecondOfDay() == start
+                    && task.getEndTime().toSecondOfDay() == end) {
+                return task;
+            }
+        }
+        throw new TaskNotFoundException("Task not found: " + recorded.getDescription());
+    }
+
+    private void replaceRecorded(Task recorded, Task replacement) throws TaskNotFoundException, ScheduleConflictException {
+        if (!replace(findRecorded(recorded), replacement).isSuccess()) {
+            throw new ScheduleConflictException("Task conflicts with an existing task.");
+        }
+    }
+
+    private static Task copyOf(Task task) {
+        Task copy = TaskFactory.createTask(task.getDescription(), task.getStartTime(), task.getEndTime(), task.getPriority());
+        if (task.isCompleted()) {
+            copy.markCompleted();
+        }
+        return copy;
+    }
+
+    private Task findByDescription(String description) {
+        for (Task task : tasks) {
+            if (task.getDescription().equals(description)) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    // First existing task (other than ignored) that overlaps newTask, or null
+    private Task findConflict(Task newTask, Task ignored) {
+        for (Task existingTask : tasks) {
+            if (existingTask != ignored && existingTask.conflicts(newTask)) {
+                return existingTask;
+            }
+        }
+        return null;
+    }
+
+    private void notifyConflict(Task task) {
+        Observer[] listeners = listenersFor(ScheduleEvent.CONFLICT, task);
+        if (listeners.length > 0) {
+            notifyObservers(listeners, "Conflict detected: Task conflicts with an existing task.");
+        }
+    }
+}
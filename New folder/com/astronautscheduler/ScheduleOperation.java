@@ -0,0 +1,165 @@
+package com.astronautscheduler;
+
+import java.time.LocalTime;
+
+// One recorded call against ScheduleManager, as produced by WorkloadGenerator and
+// consumed by ReplayEngine. Times are minutes of the day. A trace line is
+// tab-separated: kind, description, new description, start, end, priority.
+// A bare "-" marks an absent field; descriptions are escaped so that tabs, line
+// breaks, backslashes and a literal "-" survive the round trip.
+class ScheduleOperation {
+
+    enum Kind {
+        ADD, REMOVE, EDIT, VIEW, COMPLETE;
+
+        public boolean isMutation() {
+            return this != VIEW;
+        }
+    }
+
+    private static final String NONE = "-";
+
+    private final Kind kind;
+    private final String description;
+    private final String newDescription;
+    private final int startMinute;
+    private final int endMinute;
+    private final Priority priority;
+
+    private ScheduleOperation(Kind kind, String description, String newDescription, int startMinute, int endMinute, Priority priority) {
+        this.kind = kind;
+        this.description = description;
+        this.newDescription = newDescription;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+        this.priority = priority;
+    }
+
+    public static ScheduleOperation add(String description, int startMinute, int endMinute, Priority priority) {
+        return new ScheduleOperation(Kind.ADD, description, null, startMinute, endMinute, priority);
+    }
+
+    public static ScheduleOperation remove(String description) {
+        return new ScheduleOperation(Kind.REMOVE, description, null, 0, 0, null);
+    }
+
+    public static ScheduleOperation edit(String description, String newDescription, int startMinute, int endMinute, Priority priority) {
+        return new ScheduleOperation(Kind.EDIT, description, newDescription, startMinute, endMinute, priority);
+    }
+
+    // A null priority views every task
+    public static ScheduleOperation view(Priority priority) {
+        return new ScheduleOperation(Kind.VIEW, null, null, 0, 0, priority);
+    }
+
+    public static ScheduleOperation complete(String description) {
+        return new ScheduleOperation(Kind.COMPLETE, description, null, 0, 0, null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getNewDescription() {
+        return newDescription;
+    }
+
+    public int getStartMinute() {
+        return startMinute;
+    }
+
+    public int getEndMinute() {
+        return endMinute;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    // Builds the task an ADD or EDIT operation installs
+    public Task toTask() {
+        String name = kind == Kind.EDIT ? newDescription : description;
+        return TaskFactory.createTask(name,
+                LocalTime.of(startMinute / 60, startMinute % 60),
+                LocalTime.of(endMinute / 60, endMinute % 60),
+                priority);
+    }
+
+    public String toLine() {
+        return kind + "\t" + encodeField(description) + "\t" + encodeField(newDescription) + "\t"
+                + startMinute + "\t" + endMinute + "\t" + (priority == null ? NONE : priority.name());
+    }
+
+    public static ScheduleOperation parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Malformed trace line: " + line);
+        }
+        return new ScheduleOperation(
+                Kind.valueOf(fields[0]),
+                decodeField(fields[1]),
+                decodeField(fields[2]),
+                Integer.parseInt(fields[3]),
+                Integer.parseInt(fields[4]),
+                fields[5].equals(NONE) ? null : Priority.valueOf(fields[5]));
+    }
+
+    private static String encodeField(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        if (value.equals(NONE)) {
+            return "\\" + NONE;
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String decodeField(String value) {
+        if (value.equals(NONE)) {
+            return null;
+        }
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\') {
+                unescaped.append(c);
+                continue;
+            }
+            if (++i == value.length()) {
+                throw new IllegalArgumentException("Dangling escape in trace field: " + value);
+            }
+            switch (value.charAt(i)) {
+                case '\\' -> unescaped.append('\\');
+                case 't' -> unescaped.append('\t');
+                case 'n' -> unescaped.append('\n');
+                case 'r' -> unescaped.append('\r');
+                case '-' -> unescaped.append('-');
+                default -> throw new IllegalArgumentException("Unknown escape in trace field: " + value);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toLine();
+    }
+}
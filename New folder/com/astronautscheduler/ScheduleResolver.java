@@ -0,0 +1,220 @@
+package com.astronautscheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+// Picks the conflict-free subset of candidate tasks with the highest total
+// Priority weight. OPTIMAL runs weighted interval scheduling (sort by end time,
+// DP with binary search for the last compatible task) in O(n log n). GREEDY takes
+// tasks by descending weight and earliest end, tracking occupied seconds of the
+// day in a bitset; it needs far less memory but is not guaranteed optimal.
+// Times are compared at second precision, matching how tasks are entered.
+class ScheduleResolver {
+
+    enum Mode {
+        OPTIMAL, GREEDY, AUTO
+    }
+
+    static final int DEFAULT_GREEDY_THRESHOLD = 5_000_000;
+
+    private static final int INDEX_BITS = 29;
+    private static final int TIME_BITS = 17;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    private final Mode mode;
+    private final int greedyThreshold;
+
+    public ScheduleResolver() {
+        this(Mode.AUTO, DEFAULT_GREEDY_THRESHOLD);
+    }
+
+    public ScheduleResolver(Mode mode) {
+        this(mode, DEFAULT_GREEDY_THRESHOLD);
+    }
+
+    // In AUTO mode, inputs larger than greedyThreshold are resolved greedily
+    public ScheduleResolver(Mode mode, int greedyThreshold) {
+        this.mode = mode;
+        this.greedyThreshold = greedyThreshold;
+    }
+
+    public Resolution resolve(Collection<Task> candidates) {
+        Task[] tasks = candidates.toArray(new Task[0]);
+        if (tasks.length > INDEX_MASK) {
+            throw new IllegalArgumentException("Too many candidates: " + tasks.length);
+        }
+        Mode effective = mode;
+        if (effective == Mode.AUTO) {
+            effective = tasks.length > greedyThreshold ? Mode.GREEDY : Mode.OPTIMAL;
+        }
+
+        List<Task> rejected = new ArrayList<>();
+        long[] keys = sortedByEnd(tasks, rejected);
+        boolean[] taken = effective == Mode.OPTIMAL ? solveOptimal(keys, tasks) : solveGreedy(keys, tasks);
+
+        List<Task> accepted = new ArrayList<>();
+        long totalWeight = 0;
+        for (int i = 0; i < keys.length; i++) {
+            Task task = tasks[indexOf(keys[i])];
+            if (taken[i]) {
+                accepted.add(task);
+                totalWeight += task.getPriority().getWeight();
+            } else {
+                rejected.add(task);
+            }
+        }
+        return new Resolution(accepted, rejected, totalWeight, effective);
+    }
+
+    // Packs (end, start, index) into one long so a primitive sort orders by end then start.
+    // Tasks that end before they start are rejected outright.
+    private static long[] sortedByEnd(Task[] tasks, List<Task> rejected) {
+        long[] keys = new long[tasks.length];
+        int count = 0;
+        for (int i = 0; i < tasks.length; i++) {
+            int start = tasks[i].getStartTime().toSecondOfDay();
+            int end = tasks[i].getEndTime().toSecondOfDay();
+            if (end < start) {
+                rejected.add(tasks[i]);
+                continue;
+            }
+            keys[count++] = ((long) end << (TIME_BITS + INDEX_BITS)) | ((long) start << INDEX_BITS) | i;
+        }
+        keys = count == keys.length ? keys : Arrays.copyOf(keys, count);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static boolean[] solveOptimal(long[] keys, Task[] tasks) {
+        int n = keys.length;
+        int[] ends = new int[n];
+        for (int i = 0; i < n; i++) {
+            ends[i] = endOf(keys[i]);
+        }
+
+        // best[j] is the best weight using the first j tasks; previous[j] the compatible prefix length
+        long[] best = new long[n + 1];
+        int[] previous = new int[n];
+        boolean[] include = new boolean[n];
+        for (int j = 0; j < n; j++) {
+            previous[j] = upperBound(ends, j, startOf(keys[j]));
+            long with = tasks[indexOf(keys[j])].getPriority().getWeight() + best[previous[j]];
+            if (with > best[j]) {
+                best[j + 1] = with;
+                include[j] = true;
+            } else {
+                best[j + 1] = best[j];
+            }
+        }
+
+        boolean[] taken = new boolean[n];
+        int j = n;
+        while (j > 0) {
+            if (include[j - 1]) {
+                taken[j - 1] = true;
+                j = previous[j - 1];
+            } else {
+                j--;
+            }
+        }
+        return taken;
+    }
+
+    // Number of entries in ends[0, limit) that are <= value
+    private static int upperBound(int[] ends, int limit, int value) {
+        int low = 0;
+        int high = limit;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean[] solveGreedy(long[] keys, Task[] tasks) {
+        int n = keys.length;
+        boolean[] taken = new boolean[n];
+        BitSet occupied = new BitSet(24 * 60 * 60);
+        BitSet intervalStarts = new BitSet(24 * 60 * 60);
+        BitSet instants = new BitSet(24 * 60 * 60);
+
+        int[] weights = Arrays.stream(Priority.values()).mapToInt(Priority::getWeight).distinct().sorted().toArray();
+        for (int w = weights.length - 1; w >= 0; w--) {
+            for (int i = 0; i < n; i++) {
+                if (tasks[indexOf(keys[i])].getPriority().getWeight() != weights[w]) {
+                    continue;
+                }
+                int start = startOf(keys[i]);
+                int end = endOf(keys[i]);
+                if (start == end) {
+                    // A zero-length task only conflicts with an interval that strictly contains it
+                    if (!occupied.get(start) || intervalStarts.get(start)) {
+                        instants.set(start);
+                        taken[i] = true;
+                    }
+                } else {
+                    int busy = occupied.nextSetBit(start);
+                    int instant = instants.nextSetBit(start + 1);
+                    if ((busy < 0 || busy >= end) && (instant < 0 || instant >= end)) {
+                        occupied.set(start, end);
+                        intervalStarts.set(start);
+                        taken[i] = true;
+                    }
+                }
+            }
+        }
+        return taken;
+    }
+
+    private static int indexOf(long key) {
+        return (int) (key & INDEX_MASK);
+    }
+
+    private static int startOf(long key) {
+        return (int) ((key >>> INDEX_BITS) & TIME_MASK);
+    }
+
+    private static int endOf(long key) {
+        return (int) (key >>> (TIME_BITS + INDEX_BITS));
+    }
+
+    // Outcome of a resolve call; pass to ScheduleManager.replaceWithResolution to install it
+    static class Resolution {
+
+        private final List<Task> accepted;
+        private final List<Task> rejected;
+        private final long totalWeight;
+        private final Mode mode;
+
+        private Resolution(List<Task> accepted, List<Task> rejected, long totalWeight, Mode mode) {
+            this.accepted = accepted;
+            this.rejected = rejected;
+            this.totalWeight = totalWeight;
+            this.mode = mode;
+        }
+
+        public List<Task> getAccepted() {
+            return accepted;
+        }
+
+        public List<Task> getRejected() {
+            return rejected;
+        }
+
+        public long getTotalWeight() {
+            return totalWeight;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+// Measures ScheduleResolver on large randomly generated candidate sets.
+
+// to run this file run below command
+// javac com/astronautscheduler/ScheduleResolverBenchmark.java
+// java com.astronautscheduler.ScheduleResolverBenchmark [candidates]
+
+package com.astronautscheduler;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class ScheduleResolverBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Task> candidates = generate(size, new Random(42));
+        System.out.println("Candidates: " + size);
+
+        for (ScheduleResolver.Mode mode : new ScheduleResolver.Mode[]{ScheduleResolver.Mode.OPTIMAL, ScheduleResolver.Mode.GREEDY}) {
+            ScheduleResolver resolver = new ScheduleResolver(mode);
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                resolver.resolve(candidates);
+            }
+            long bestNanos = Long.MAX_VALUE;
+            ScheduleResolver.Resolution resolution = null;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                long started = System.nanoTime();
+                resolution = resolver.resolve(candidates);
+                bestNanos = Math.min(bestNanos, System.nanoTime() - started);
+            }
+            System.out.printf("%-8s best %8.1f ms  accepted %6d  total weight %d%n",
+                    mode, bestNanos / 1e6, resolution.getAccepted().size(), resolution.getTotalWeight());
+        }
+    }
+
+    private static List<Task> generate(int size, Random random) {
+        Priority[] priorities = Priority.values();
+        List<Task> candidates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int start = random.nextInt(23 * 60);
+            int duration = 5 + random.nextInt(Math.min(180, 24 * 60 - 6 - start));
+            candidates.add(TaskFactory.createTask(
+                    "Task " + i,
+                    LocalTime.of(start / 60, start % 60),
+                    LocalTime.of((start + duration) / 60, (start + duration) % 60),
+                    priorities[random.nextInt(priorities.length)]));
+        }
+        return candidates;
+    }
+}
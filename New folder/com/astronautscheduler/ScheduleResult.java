@@ -0,0 +1,51 @@
+package com.astronautscheduler;
+
+// Outcome of a non-throwing ScheduleManager operation (tryAddTask, tryRemoveTask, tryEdit).
+// Success and not-found results are shared instances; only conflicts allocate.
+class ScheduleResult {
+
+    enum Status {
+        SUCCESS, CONFLICT, NOT_FOUND
+    }
+
+    private static final ScheduleResult SUCCESS = new ScheduleResult(Status.SUCCESS, null);
+    private static final ScheduleResult NOT_FOUND = new ScheduleResult(Status.NOT_FOUND, null);
+
+    private final Status status;
+    private final Task conflictingTask;
+
+    private ScheduleResult(Status status, Task conflictingTask) {
+        this.status = status;
+        this.conflictingTask = conflictingTask;
+    }
+
+    public static ScheduleResult success() {
+        return SUCCESS;
+    }
+
+    public static ScheduleResult notFound() {
+        return NOT_FOUND;
+    }
+
+    public static ScheduleResult conflict(Task conflictingTask) {
+        return new ScheduleResult(Status.CONFLICT, conflictingTask);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    // Existing task that blocked the operation; null unless the status is CONFLICT
+    public Task getConflictingTask() {
+        return conflictingTask;
+    }
+
+    @Override
+    public String toString() {
+        return status == Status.CONFLICT ? "CONFLICT with " + conflictingTask.getDescription() : status.name();
+    }
+}
@@ -0,0 +1,39 @@
+package com.astronautscheduler;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads and writes operation traces, one ScheduleOperation line per operation
+class ScheduleTrace {
+
+    private ScheduleTrace() {
+    }
+
+    public static void write(Path file, List<ScheduleOperation> operations) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (ScheduleOperation operation : operations) {
+                writer.write(operation.toLine());
+                writer.newLine();
+            }
+        }
+    }
+
+    public static List<ScheduleOperation> read(Path file) throws IOException {
+        List<ScheduleOperation> operations = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    operations.add(ScheduleOperation.parse(line));
+                }
+            }
+        }
+        return operations;
+    }
+}
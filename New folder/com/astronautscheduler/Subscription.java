@@ -0,0 +1,96 @@
+package com.astronautscheduler;
+
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Filter describing which schedule events an Observer receives.
+// The optional time window matches tasks whose start time falls in [from, to).
+class Subscription {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final Observer observer;
+    private final Set<ScheduleEvent> events;
+    private final Set<Priority> priorities;
+    private final int fromMinute;
+    private final int toMinute;
+
+    private Subscription(Builder builder) {
+        this.observer = builder.observer;
+        this.events = builder.events;
+        this.priorities = builder.priorities;
+        this.fromMinute = builder.fromMinute;
+        this.toMinute = builder.toMinute;
+    }
+
+    // Subscription equivalent to the old broadcast behaviour
+    public static Subscription all(Observer observer) {
+        return new Builder(observer).build();
+    }
+
+    public static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    public Observer getObserver() {
+        return observer;
+    }
+
+    public boolean matches(ScheduleEvent event, Priority priority) {
+        return events.contains(event) && priorities.contains(priority);
+    }
+
+    public boolean coversMinute(int minute) {
+        return minute >= fromMinute && minute < toMinute;
+    }
+
+    public int getFromMinute() {
+        return fromMinute;
+    }
+
+    public int getToMinute() {
+        return toMinute;
+    }
+
+    static class Builder {
+
+        private final Observer observer;
+        private Set<ScheduleEvent> events = EnumSet.allOf(ScheduleEvent.class);
+        private Set<Priority> priorities = EnumSet.allOf(Priority.class);
+        private int fromMinute = 0;
+        private int toMinute = MINUTES_PER_DAY;
+
+        public Builder(Observer observer) {
+            if (observer == null) {
+                throw new IllegalArgumentException("Observer must not be null");
+            }
+            this.observer = observer;
+        }
+
+        public Builder events(ScheduleEvent first, ScheduleEvent... rest) {
+            this.events = EnumSet.of(first, rest);
+            return this;
+        }
+
+        public Builder priorities(Priority first, Priority... rest) {
+            this.priorities = EnumSet.of(first, rest);
+            return this;
+        }
+
+        public Builder between(LocalTime from, LocalTime to) {
+            int start = minuteOfDay(from);
+            int end = to.equals(LocalTime.MAX) ? MINUTES_PER_DAY : minuteOfDay(to);
+            if (start >= end) {
+                throw new IllegalArgumentException("Subscription window must start before it ends");
+            }
+            this.fromMinute = start;
+            this.toMinute = end;
+            return this;
+        }
+
+        public Subscription build() {
+            return new Subscription(this);
+        }
+    }
+}
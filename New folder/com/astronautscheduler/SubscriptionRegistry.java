@@ -0,0 +1,79 @@
+package com.astronautscheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+// Holds subscriptions and a precomputed dispatch table of listener arrays,
+// indexed by (event, priority) topic and then by the task's start minute.
+// The table is rebuilt only when subscriptions change, so dispatch is a lookup
+// followed by a plain array walk.
+class SubscriptionRegistry {
+
+    private static final Observer[] NONE = new Observer[0];
+    private static final int PRIORITIES = Priority.values().length;
+
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private volatile Observer[][][] dispatch = buildTable(List.of());
+
+    public synchronized void add(Subscription subscription) {
+        subscriptions.add(subscription);
+        dispatch = buildTable(subscriptions);
+    }
+
+    public synchronized boolean remove(Observer observer) {
+        if (subscriptions.removeIf(s -> s.getObserver() == observer)) {
+            dispatch = buildTable(subscriptions);
+            return true;
+        }
+        return false;
+    }
+
+    public Observer[] listeners(ScheduleEvent event, Priority priority, int startMinute) {
+        return dispatch[event.ordinal() * PRIORITIES + priority.ordinal()][startMinute];
+    }
+
+    private static Observer[][][] buildTable(List<Subscription> subscriptions) {
+        ScheduleEvent[] events = ScheduleEvent.values();
+        Priority[] priorities = Priority.values();
+        Observer[][][] table = new Observer[events.length * PRIORITIES][][];
+        for (ScheduleEvent event : events) {
+            for (Priority priority : priorities) {
+                table[event.ordinal() * PRIORITIES + priority.ordinal()] = buildTopic(subscriptions, event, priority);
+            }
+        }
+        return table;
+    }
+
+    // Splits the day at every window boundary; minutes inside one segment share one array
+    private static Observer[][] buildTopic(List<Subscription> subscriptions, ScheduleEvent event, Priority priority) {
+        List<Subscription> matching = new ArrayList<>();
+        TreeSet<Integer> boundaries = new TreeSet<>();
+        boundaries.add(0);
+        boundaries.add(Subscription.MINUTES_PER_DAY);
+        for (Subscription subscription : subscriptions) {
+            if (subscription.matches(event, priority)) {
+                matching.add(subscription);
+                boundaries.add(subscription.getFromMinute());
+                boundaries.add(subscription.getToMinute());
+            }
+        }
+
+        Observer[][] byMinute = new Observer[Subscription.MINUTES_PER_DAY][];
+        Integer segmentStart = boundaries.first();
+        for (Integer segmentEnd : boundaries.tailSet(segmentStart, false)) {
+            List<Observer> listeners = new ArrayList<>();
+            for (Subscription subscription : matching) {
+                if (subscription.coversMinute(segmentStart)) {
+                    listeners.add(subscription.getObserver());
+                }
+            }
+            Observer[] segment = listeners.isEmpty() ? NONE : listeners.toArray(NONE);
+            for (int minute = segmentStart; minute < segmentEnd; minute++) {
+                byMinute[minute] = segment;
+            }
+            segmentStart = segmentEnd;
+        }
+        return byMinute;
+    }
+}
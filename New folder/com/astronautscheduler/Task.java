@@ -0,0 +1,96 @@
+package com.astronautscheduler;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+// Task class
+class Task implements Comparable<Task> {
+
+    private String description;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Priority priority;
+    private boolean completed;
+
+    public Task(String description, LocalTime startTime, LocalTime endTime, Priority priority) {
+        this.description = description;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.priority = priority;
+        this.completed = false;
+    }
+
+    // Getters
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public boolean conflicts(Task other) {
+        return (this.startTime.isBefore(other.endTime) && other.startTime.isBefore(this.endTime));
+    }
+
+    public void markCompleted() {
+        this.completed = true;
+    }
+
+    // Setters
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    @Override
+    public int compareTo(Task other) {
+        return this.startTime.compareTo(other.startTime);
+    }
+
+    @Override
+    public String toString() {
+        String timeColor = ConsoleColors.PURPLE;
+        String descriptionColor = ConsoleColors.BLUE;
+        String priorityColor = switch (priority) {
+            case HIGH ->
+                ConsoleColors.RED;
+            case MEDIUM ->
+                ConsoleColors.YELLOW;
+            case LOW ->
+                ConsoleColors.GREEN;
+        };
+        String statusColor = completed ? ConsoleColors.GREEN : ConsoleColors.RESET;
+
+        return String.format("%s%s - %s: %s%s %s[%s]%s%s",
+                timeColor,
+                startTime.format(DateTimeFormatter.ofPattern("HH:mm")),
+                endTime.format(DateTimeFormatter.ofPattern("HH:mm")),
+                descriptionColor, description,
+                priorityColor, priority,
+                statusColor, completed ? " (Completed)" : "");
+    }
+}
@@ -0,0 +1,11 @@
+package com.astronautscheduler;
+
+import java.time.LocalTime;
+
+// Task Factory
+class TaskFactory {
+
+    public static Task createTask(String description, LocalTime startTime, LocalTime endTime, Priority priority) {
+        return new Task(description, startTime, endTime, priority);
+    }
+}
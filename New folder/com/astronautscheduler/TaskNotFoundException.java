@@ -0,0 +1,12 @@
+package com.astronautscheduler;
+
+// Thrown when no task matches. Misses are routine outcomes rather than bugs,
+// so this skips stack trace capture to stay cheap to throw.
+class TaskNotFoundException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    public TaskNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,10 @@
+package com.astronautscheduler;
+
+// Concrete Observer
+class UserNotification implements Observer {
+
+    @Override
+    public void update(String message) {
+        System.out.println(ConsoleColors.PURPLE + "Notification: " + message + ConsoleColors.RESET);
+    }
+}
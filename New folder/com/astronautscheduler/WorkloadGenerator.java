@@ -0,0 +1,258 @@
+package com.astronautscheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Produces a seeded, reproducible mix of schedule operations. The generator keeps
+// its own model of the day, applying the same conflict rules as ScheduleManager,
+// so removes, edits and completions target tasks that will exist at replay time.
+class WorkloadGenerator {
+
+    private static final int FREE_SLOT_ATTEMPTS = 8;
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final Config config;
+
+    public WorkloadGenerator(Config config) {
+        this.config = config;
+    }
+
+    public List<ScheduleOperation> generate() {
+        SplittableRandom random = new SplittableRandom(config.seed);
+        List<Slot> live = new ArrayList<>();
+        List<ScheduleOperation> operations = new ArrayList<>(config.operations);
+        int meanDuration = Math.max(1, (int) (config.density * Subscription.MINUTES_PER_DAY / config.targetTasks));
+        int nextId = 0;
+
+        for (int i = 0; i < config.operations; i++) {
+            ScheduleOperation.Kind kind = pickKind(random);
+            // Steer the live task count towards the target instead of growing without bound
+            if (kind == ScheduleOperation.Kind.ADD && live.size() >= config.targetTasks) {
+                kind = ScheduleOperation.Kind.REMOVE;
+            }
+            if (kind != ScheduleOperation.Kind.ADD && kind != ScheduleOperation.Kind.VIEW && live.isEmpty()) {
+                kind = ScheduleOperation.Kind.ADD;
+            }
+
+            switch (kind) {
+                case ADD -> {
+                    int duration = pickDuration(random, meanDuration);
+                    int start = random.nextDouble() < config.conflictRate && !live.isEmpty()
+                            ? overlappingStart(random, live, duration)
+                            : freeStart(random, live, duration);
+                    Slot slot = new Slot("Task-" + nextId++, start, start + duration);
+                    if (findConflict(live, slot.start, slot.end, null) == null) {
+                        live.add(slot);
+                    }
+                    operations.add(ScheduleOperation.add(slot.description, slot.start, slot.end, pickPriority(random)));
+                }
+                case REMOVE -> {
+                    Slot slot = live.remove(random.nextInt(live.size()));
+                    operations.add(ScheduleOperation.remove(slot.description));
+                }
+                case EDIT -> {
+                    Slot slot = live.get(random.nextInt(live.size()));
+                    int duration = slot.end - slot.start;
+                    int start = Math.max(0, Math.min(Subscription.MINUTES_PER_DAY - 1 - duration, slot.start + random.nextInt(-60, 61)));
+                    String newDescription = random.nextInt(4) == 0 ? "Task-" + nextId++ : slot.description;
+                    operations.add(ScheduleOperation.edit(slot.description, newDescription, start, start + duration, pickPriority(random)));
+                    if (findConflict(live, start, start + duration, slot) == null) {
+                        slot.description = newDescription;
+                        slot.start = start;
+                        slot.end = start + duration;
+                    }
+                }
+                case VIEW ->
+                    operations.add(ScheduleOperation.view(random.nextBoolean() ? null : pickPriority(random)));
+                case COMPLETE -> {
+                    Slot slot = live.get(random.nextInt(live.size()));
+                    operations.add(ScheduleOperation.complete(slot.description));
+                }
+            }
+        }
+        return operations;
+    }
+
+    private ScheduleOperation.Kind pickKind(SplittableRandom random) {
+        int roll = random.nextInt(config.totalMixWeight());
+        ScheduleOperation.Kind[] kinds = ScheduleOperation.Kind.values();
+        for (int k = 0; k < kinds.length; k++) {
+            roll -= config.mix[k];
+            if (roll < 0) {
+                return kinds[k];
+            }
+        }
+        throw new IllegalStateException("Operation mix weights are inconsistent");
+    }
+
+    private Priority pickPriority(SplittableRandom random) {
+        int roll = random.nextInt(config.totalPriorityWeight());
+        for (int p = 0; p < PRIORITIES.length; p++) {
+            roll -= config.priorityWeights[p];
+            if (roll < 0) {
+                return PRIORITIES[p];
+            }
+        }
+        throw new IllegalStateException("Priority weights are inconsistent");
+    }
+
+    private static int pickDuration(SplittableRandom random, int meanDuration) {
+        int duration = meanDuration / 2 + random.nextInt(meanDuration + 1);
+        return Math.max(1, Math.min(Subscription.MINUTES_PER_DAY - 1, duration));
+    }
+
+    private static int overlappingStart(SplittableRandom random, List<Slot> live, int duration) {
+        Slot target = live.get(random.nextInt(live.size()));
+        int start = target.start + random.nextInt(Math.max(1, target.end - target.start));
+        return Math.min(start, Subscription.MINUTES_PER_DAY - 1 - duration);
+    }
+
+    // Tries a few random starts and keeps the first free one, or the last attempt
+    private static int freeStart(SplittableRandom random, List<Slot> live, int duration) {
+        int start = 0;
+        for (int attempt = 0; attempt < FREE_SLOT_ATTEMPTS; attempt++) {
+            start = random.nextInt(Subscription.MINUTES_PER_DAY - duration);
+            if (findConflict(live, start, start + duration, null) == null) {
+                break;
+            }
+        }
+        return start;
+    }
+
+    // Mirrors Task.conflicts on minute values
+    private static Slot findConflict(List<Slot> live, int start, int end, Slot ignored) {
+        for (Slot slot : live) {
+            if (slot != ignored && slot.start < end && start < slot.end) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private static class Slot {
+
+        private String description;
+        private int start;
+        private int end;
+
+        Slot(String description, int start, int end) {
+            this.description = description;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    // Generator settings. Mix weights are in ScheduleOperation.Kind order
+    // (add, remove, edit, view, complete); priority weights in Priority order.
+    static class Config {
+
+        private final long seed;
+        private final int operations;
+        private final int[] mix;
+        private final int targetTasks;
+        private final double density;
+        private final int[] priorityWeights;
+        private final double conflictRate;
+
+        private Config(Builder builder) {
+            this.seed = builder.seed;
+            this.operations = builder.operations;
+            this.mix = builder.mix.clone();
+            this.targetTasks = builder.targetTasks;
+            this.density = builder.density;
+            this.priorityWeights = builder.priorityWeights.clone();
+            this.conflictRate = builder.conflictRate;
+        }
+
+        private int totalMixWeight() {
+            int total = 0;
+            for (int weight : mix) {
+                total += weight;
+            }
+            return total;
+        }
+
+        private int totalPriorityWeight() {
+            int total = 0;
+            for (int weight : priorityWeights) {
+                total += weight;
+            }
+            return total;
+        }
+
+        static class Builder {
+
+            private long seed = 1;
+            private int operations = 100_000;
+            private int[] mix = {40, 15, 15, 20, 10};
+            private int targetTasks = 40;
+            private double density = 0.6;
+            private int[] priorityWeights = {5, 3, 2};
+            private double conflictRate = 0.1;
+
+            public Builder seed(long seed) {
+                this.seed = seed;
+                return this;
+            }
+
+            public Builder operations(int operations) {
+                this.operations = operations;
+                return this;
+            }
+
+            public Builder mix(int add, int remove, int edit, int view, int complete) {
+                this.mix = new int[]{add, remove, edit, view, complete};
+                return this;
+            }
+
+            // Number of live tasks the day is steered towards
+            public Builder targetTasks(int targetTasks) {
+                this.targetTasks = targetTasks;
+                return this;
+            }
+
+            // Fraction of the day those tasks cover, which sets the mean task length
+            public Builder density(double density) {
+                this.density = density;
+                return this;
+            }
+
+            public Builder priorityWeights(int low, int medium, int high) {
+                this.priorityWeights = new int[]{low, medium, high};
+                return this;
+            }
+
+            // Probability that an add is placed on top of an existing task
+            public Builder conflictRate(double conflictRate) {
+                this.conflictRate = conflictRate;
+                return this;
+            }
+
+            public Config build() {
+                if (operations < 0 || targetTasks <= 0 || density <= 0 || density > 1
+                        || conflictRate < 0 || conflictRate > 1) {
+                    throw new IllegalArgumentException("Invalid workload configuration");
+                }
+                if (mix[ScheduleOperation.Kind.ADD.ordinal()] <= 0) {
+                    throw new IllegalArgumentException("Operation mix needs a positive add weight");
+                }
+                for (int weight : mix) {
+                    if (weight < 0) {
+                        throw new IllegalArgumentException("Operation mix weights must not be negative");
+                    }
+                }
+                for (int weight : priorityWeights) {
+                    if (weight < 0) {
+                        throw new IllegalArgumentException("Priority weights must not be negative");
+                    }
+                }
+                Config config = new Config(this);
+                if (config.totalPriorityWeight() == 0) {
+                    throw new IllegalArgumentException("At least one priority weight must be positive");
+                }
+                return config;
+            }
+        }
+    }
+}
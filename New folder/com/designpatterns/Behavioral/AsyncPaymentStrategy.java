@@ -0,0 +1,26 @@
+package com.designpatterns.behavioral;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Non-blocking variant: payments complete through CompletableFuture
+interface AsyncPaymentStrategy {
+    CompletableFuture<Void> payAsync(double amount);
+
+    CompletableFuture<Void> payAllAsync(double[] amounts);
+
+    // Runs a blocking strategy's calls on the given executor
+    static AsyncPaymentStrategy of(PaymentStrategy strategy, Executor executor) {
+        return new AsyncPaymentStrategy() {
+            @Override
+            public CompletableFuture<Void> payAsync(double amount) {
+                return CompletableFuture.runAsync(() -> strategy.pay(amount), executor);
+            }
+
+            @Override
+            public CompletableFuture<Void> payAllAsync(double[] amounts) {
+                return CompletableFuture.runAsync(() -> strategy.payAll(amounts), executor);
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.designpatterns.behavioral;
+
+class BitcoinPayment implements PaymentStrategy {
+    private final String walletId;
+
+    public BitcoinPayment(String walletId) {
+        this.walletId = walletId;
+    }
+
+    @Override
+    public void pay(double amount) {
+        System.out.println("Paid $" + amount + " worth of Bitcoin from wallet: " + walletId);
+    }
+
+    // One transaction with many outputs instead of one transaction per amount
+    @Override
+    public void payAll(double[] amounts) {
+        System.out.println("Paid $" + PaymentStrategy.total(amounts) + " worth of Bitcoin in one " + amounts.length + "-output transaction from wallet: " + walletId);
+    }
+}
@@ -0,0 +1,141 @@
+package com.designpatterns.behavioral;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Thread-safe checkout front end that can be shared by any number of callers.
+// Each checkout is queued and settled in batches through PaymentStrategy.payAll,
+// so thousands of concurrent checkouts turn into a few backend calls. A semaphore
+// bounds how many checkouts may be in flight: once the limit is reached, new
+// callers wait instead of growing the queue without limit. Batches are settled
+// on the supplied executor, so it must not be a bounded pool that the waiting
+// callers themselves can fill.
+class CheckoutService {
+    private final PaymentStrategy strategy;
+    private final Executor executor;
+    private final int batchSize;
+    private final int maxConcurrentBatches;
+    private final Semaphore inFlight;
+    private final ConcurrentLinkedQueue<PendingCheckout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeDrainers = new AtomicInteger();
+
+    public CheckoutService(PaymentStrategy strategy, Executor executor, int maxInFlight, int batchSize, int maxConcurrentBatches) {
+        if (maxInFlight <= 0 || batchSize <= 0 || maxConcurrentBatches <= 0) {
+            throw new IllegalArgumentException("Limits must be positive");
+        }
+        this.strategy = strategy;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    // A fixed pool of platformThreads, so callers blocked on the in-flight limit
+    // cannot each hold a platform thread of their own. This code targets Java 17;
+    // on Java 21+ Executors.newVirtualThreadPerTaskExecutor() is the better choice.
+    public static ExecutorService defaultExecutor(int platformThreads) {
+        return Executors.newFixedThreadPool(platformThreads);
+    }
+
+    // Blocks only while the in-flight limit is reached
+    public CompletableFuture<Void> checkout(double amount) throws InterruptedException {
+        inFlight.acquire();
+        PendingCheckout checkout = new PendingCheckout(amount);
+        pending.offer(checkout);
+        startDrainerIfNeeded();
+        return checkout.result;
+    }
+
+    private void startDrainerIfNeeded() {
+        while (true) {
+            int active = activeDrainers.get();
+            if (active >= maxConcurrentBatches || pending.isEmpty()) {
+                return;
+            }
+            if (activeDrainers.compareAndSet(active, active + 1)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    activeDrainers.decrementAndGet();
+                    failPending(e);
+                }
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            PendingCheckout[] batch = new PendingCheckout[batchSize];
+            double[] amounts = new double[batchSize];
+            int count;
+            while ((count = poll(batch)) > 0) {
+                for (int i = 0; i < count; i++) {
+                    amounts[i] = batch[i].amount;
+                }
+                settle(batch, count == batchSize ? amounts : Arrays.copyOf(amounts, count), count);
+            }
+        } finally {
+            activeDrainers.decrementAndGet();
+            // A checkout may have been queued after this drainer's last poll
+            startDrainerIfNeeded();
+        }
+    }
+
+    // Nothing will settle what is queued once the executor refuses work
+    private void failPending(Throwable failure) {
+        PendingCheckout checkout;
+        while ((checkout = pending.poll()) != null) {
+            checkout.result.completeExceptionally(failure);
+            inFlight.release();
+        }
+    }
+
+    private int poll(PendingCheckout[] batch) {
+        int count = 0;
+        PendingCheckout next;
+        while (count < batch.length && (next = pending.poll()) != null) {
+            batch[count++] = next;
+        }
+        return count;
+    }
+
+    // Whatever payAll throws, Errors included, fails the batch: every caller's
+    // future completes and the batch's in-flight permits are always returned
+    private void settle(PendingCheckout[] batch, double[] amounts, int count) {
+        try {
+            Throwable failure = null;
+            try {
+                strategy.payAll(amounts);
+            } catch (Throwable e) {
+                failure = e;
+            }
+            for (int i = 0; i < count; i++) {
+                if (failure == null) {
+                    batch[i].result.complete(null);
+                } else {
+                    batch[i].result.completeExceptionally(failure);
+                }
+                batch[i] = null;
+            }
+        } finally {
+            inFlight.release(count);
+        }
+    }
+
+    private static final class PendingCheckout {
+        final double amount;
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        PendingCheckout(double amount) {
+            this.amount = amount;
+        }
+    }
+}
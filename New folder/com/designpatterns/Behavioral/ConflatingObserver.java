@@ -0,0 +1,73 @@
+package com.designpatterns.behavioral;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Wraps a slow observer so it only ever sees the latest price per symbol.
+// update() stores the price in the symbol's slot and, if the slot was not
+// already pending, queues it and makes sure a drain task is running on the
+// executor. The drain clears the pending flag before reading the price, so a
+// tick arriving mid-delivery re-queues the slot instead of being lost.
+class ConflatingObserver implements Observer {
+    private final Observer delegate;
+    private final Executor executor;
+    private final ConcurrentHashMap<String, PriceSlot> slots = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<PriceSlot> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public ConflatingObserver(Observer delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public void update(String stockSymbol, double price) {
+        PriceSlot slot = slots.get(stockSymbol);
+        if (slot == null) {
+            slot = slots.computeIfAbsent(stockSymbol, PriceSlot::new);
+        }
+        slot.price = price;
+        if (slot.pending.compareAndSet(false, true)) {
+            pending.offer(slot);
+            scheduleDrain();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            PriceSlot slot;
+            while ((slot = pending.poll()) != null) {
+                slot.pending.set(false);
+                delegate.update(slot.symbol, slot.price);
+            }
+        } finally {
+            draining.set(false);
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return delegate + " (conflated)";
+    }
+
+    private static final class PriceSlot {
+        final String symbol;
+        final AtomicBoolean pending = new AtomicBoolean();
+        volatile double price;
+
+        PriceSlot(String symbol) {
+            this.symbol = symbol;
+        }
+    }
+}
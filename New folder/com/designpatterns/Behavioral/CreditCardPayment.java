@@ -0,0 +1,19 @@
+package com.designpatterns.behavioral;
+
+class CreditCardPayment implements PaymentStrategy {
+    private final String lastFourDigits;
+
+    public CreditCardPayment(String cardNumber) {
+        this.lastFourDigits = cardNumber.substring(cardNumber.length() - 4);
+    }
+
+    @Override
+    public void pay(double amount) {
+        System.out.println("Paid $" + amount + " using Credit Card ending with " + lastFourDigits);
+    }
+
+    @Override
+    public void payAll(double[] amounts) {
+        System.out.println("Paid $" + PaymentStrategy.total(amounts) + " in " + amounts.length + " charges using Credit Card ending with " + lastFourDigits);
+    }
+}
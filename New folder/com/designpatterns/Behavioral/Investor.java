@@ -0,0 +1,19 @@
+package com.designpatterns.behavioral;
+
+class Investor implements Observer {
+    private String name;
+
+    public Investor(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void update(String stockSymbol, double price) {
+        System.out.println(name + " received update: " + stockSymbol + " now at $" + price);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
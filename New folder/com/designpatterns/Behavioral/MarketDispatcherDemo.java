@@ -0,0 +1,47 @@
+// This code extends the Observer example with an asynchronous dispatcher. TickDispatcher is itself an Observer: register it with a StockMarket
+// and every tick is copied into a preallocated ring of (symbol, price) slots instead of calling each Investor on the publishing thread.
+// Every observer added to the dispatcher gets its own consumer thread with its own sequence cursor, and consumes all ticks published since
+// it last looked in one batch, so a slow observer falls behind on its own without holding up the publisher or the other observers.
+// The publisher only waits when it would overwrite a slot the slowest consumer has not read yet, i.e. when the whole ring is backlogged.
+
+// to run this file run below command
+// javac com\designpatterns\behavioral\MarketDispatcherDemo.java
+// java com.designpatterns.behavioral.MarketDispatcherDemo
+
+package com.designpatterns.behavioral;
+
+public class MarketDispatcherDemo {
+    public static void main(String[] args) {
+        StockMarket nasdaq = new StockMarket();
+
+        Investor warren = new Investor("Warren Buffett");
+        Investor slowTrader = new Investor("Slow Trader") {
+            @Override
+            public void update(String stockSymbol, double price) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.update(stockSymbol, price);
+            }
+        };
+
+        TickDispatcher dispatcher = new TickDispatcher(1024);
+        dispatcher.addObserver(warren);
+        dispatcher.addObserver(slowTrader);
+        dispatcher.start();
+        nasdaq.registerObserver(dispatcher);
+
+        // setStockInfo returns as soon as the ticks are in the ring; the slow
+        // trader's sleeps happen on its own consumer thread
+        long started = System.nanoTime();
+        nasdaq.setStockInfo("AAPL", 150.50);
+        nasdaq.setStockInfo("GOOGL", 2750.75);
+        nasdaq.setStockInfo("MSFT", 305.25);
+        long publishMicros = (System.nanoTime() - started) / 1_000;
+
+        dispatcher.close();
+        System.out.println("Published 3 ticks in " + publishMicros + " us; all observers caught up after close()");
+    }
+}
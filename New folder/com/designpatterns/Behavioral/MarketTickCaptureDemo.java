@@ -0,0 +1,379 @@
+// This code extends the Observer example with capture and replay. TickRecorder is an Observer that appends every tick it sees to a compact
+// binary file through a MappedByteBuffer, and TickReplayer maps a capture back and publishes its ticks into a StockMarket at the recorded pace,
+// a multiple of it, or as fast as possible. That lets a market-data burst be reproduced against any set of Observer implementations.
+//
+// File layout (big-endian):
+//   header   int magic, int version, long wall-clock start (epoch millis), long tick count, int symbol area size, int symbol count
+//   symbols  a fixed-size area; per symbol a short length and that many UTF-8 bytes, in id order
+//   ticks    long nanos since the start of the capture, int symbol id, double price (20 bytes each)
+// The header is written when recording starts and its counts are updated with every new symbol and tick, so a capture cut short
+// by a crash of the recording process still reads back up to the last recorded tick.
+
+// to run this file run below command
+// javac com\designpatterns\behavioral\MarketTickCaptureDemo.java
+// java com.designpatterns.behavioral.MarketTickCaptureDemo
+
+package com.designpatterns.behavioral;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+final class TickCaptureFormat {
+    static final int MAGIC = 0x5449434B; // "TICK"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 32;
+    static final int TICK_COUNT_OFFSET = 16;
+    static final int SYMBOL_AREA_OFFSET = 24;
+    static final int SYMBOL_COUNT_OFFSET = 28;
+    static final int TICK_BYTES = 20;
+    static final int DEFAULT_SYMBOL_AREA_BYTES = 64 << 10;
+    // Symbol lengths are stored as a signed short
+    static final int MAX_SYMBOL_BYTES = Short.MAX_VALUE;
+    // Ticks are mapped in regions that hold a whole number of ticks, so a tick
+    // never straddles two mappings
+    static final long MAX_REGION_BYTES = (long) TICK_BYTES * (64 << 20);
+    static final long FIRST_REGION_BYTES = (long) TICK_BYTES * (64 << 10);
+
+    private TickCaptureFormat() {
+    }
+
+    static long tickOffset(int symbolAreaBytes, long tick) {
+        return HEADER_BYTES + symbolAreaBytes + tick * TICK_BYTES;
+    }
+}
+
+// Not thread-safe: register it with one StockMarket, whose ticks arrive on the
+// publishing thread. Recording a tick is a symbol-id lookup, three absolute
+// puts into the current mapping and a store of the new count into the mapped
+// header; a new mapping is only taken when a region fills up, and regions
+// double in size up to MAX_REGION_BYTES. New symbols are appended to the
+// symbol area reserved up front, which bounds how many distinct symbols fit.
+//
+// Java cannot unmap a MappedByteBuffer; a mapping goes away only once the
+// buffer is garbage collected. close() drops its references, but on Windows a
+// file cannot be truncated while any mapping of it is alive, so trimming the
+// slack after the last tick, and clearing an old capture when reopening one,
+// are best effort. Readers go by the header counts, never the file size.
+class TickRecorder implements Observer, Closeable {
+    private static final Logger LOGGER = Logger.getLogger(TickRecorder.class.getName());
+
+    private final FileChannel channel;
+    private final int symbolAreaBytes;
+    private final long startMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Integer> symbolIds = new HashMap<>();
+
+    private MappedByteBuffer directory; // header and symbol area
+    private MappedByteBuffer region;
+    private int regionTicks;
+    private int position;
+    private int symbolBytes;
+    private long ticks;
+    private boolean closed;
+
+    public TickRecorder(Path file) throws IOException {
+        this(file, TickCaptureFormat.DEFAULT_SYMBOL_AREA_BYTES);
+    }
+
+    public TickRecorder(Path file, int symbolAreaBytes) throws IOException {
+        if (symbolAreaBytes < 0) {
+            throw new IllegalArgumentException("Symbol area size must not be negative: " + symbolAreaBytes);
+        }
+        this.symbolAreaBytes = symbolAreaBytes;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            trim(0);
+            directory = channel.map(FileChannel.MapMode.READ_WRITE, 0, TickCaptureFormat.HEADER_BYTES + symbolAreaBytes);
+            directory.putInt(0, TickCaptureFormat.MAGIC)
+                    .putInt(4, TickCaptureFormat.VERSION)
+                    .putLong(8, startMillis)
+                    .putLong(TickCaptureFormat.TICK_COUNT_OFFSET, 0)
+                    .putInt(TickCaptureFormat.SYMBOL_AREA_OFFSET, symbolAreaBytes)
+                    .putInt(TickCaptureFormat.SYMBOL_COUNT_OFFSET, 0);
+            mapRegion(0, TickCaptureFormat.FIRST_REGION_BYTES);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void update(String stockSymbol, double price) {
+        record(System.nanoTime() - startNanos, stockSymbol, price);
+    }
+
+    public void record(long nanos, String symbol, double price) {
+        if (closed) {
+            throw new IllegalStateException("Recorder is closed");
+        }
+        Integer id = symbolIds.get(symbol);
+        if (id == null) {
+            id = addSymbol(symbol);
+        }
+        if (position == regionTicks) {
+            long regionBytes = Math.min((long) regionTicks * TickCaptureFormat.TICK_BYTES * 2, TickCaptureFormat.MAX_REGION_BYTES);
+            mapRegion(ticks, regionBytes);
+        }
+        int offset = position * TickCaptureFormat.TICK_BYTES;
+        region.putLong(offset, nanos);
+        region.putInt(offset + 8, id);
+        region.putDouble(offset + 12, price);
+        position++;
+        ticks++;
+        // Counted only once the whole tick is in place
+        directory.putLong(TickCaptureFormat.TICK_COUNT_OFFSET, ticks);
+    }
+
+    public long getTickCount() {
+        return ticks;
+    }
+
+    // The symbol's bytes go in before the count that makes them visible
+    private int addSymbol(String symbol) {
+        byte[] bytes = symbol.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > TickCaptureFormat.MAX_SYMBOL_BYTES) {
+            throw new IllegalArgumentException("Symbol is longer than " + TickCaptureFormat.MAX_SYMBOL_BYTES + " UTF-8 bytes");
+        }
+        if (symbolBytes + Short.BYTES + bytes.length > symbolAreaBytes) {
+            throw new IllegalStateException("Symbol area of " + symbolAreaBytes + " bytes is full; reserve a larger one");
+        }
+        int offset = TickCaptureFormat.HEADER_BYTES + symbolBytes;
+        directory.putShort(offset, (short) bytes.length);
+        directory.put(offset + Short.BYTES, bytes);
+        symbolBytes += Short.BYTES + bytes.length;
+        int id = symbolIds.size();
+        symbolIds.put(symbol, id);
+        directory.putInt(TickCaptureFormat.SYMBOL_COUNT_OFFSET, id + 1);
+        return id;
+    }
+
+    private void mapRegion(long firstTick, long regionBytes) {
+        try {
+            region = channel.map(FileChannel.MapMode.READ_WRITE, TickCaptureFormat.tickOffset(symbolAreaBytes, firstTick), regionBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not extend tick capture", e);
+        }
+        regionTicks = (int) (regionBytes / TickCaptureFormat.TICK_BYTES);
+        position = 0;
+    }
+
+    // Platforms that refuse to truncate a mapped file keep the extra bytes
+    private void trim(long size) {
+        try {
+            channel.truncate(size);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Tick capture left at its mapped size", e);
+        }
+    }
+
+    // The header is already current, so closing only trims the unused tail
+    // of the last region and lets the mappings be collected
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        region = null;
+        directory = null;
+        try {
+            trim(TickCaptureFormat.tickOffset(symbolAreaBytes, ticks));
+        } finally {
+            channel.close();
+        }
+    }
+}
+
+// Maps a capture read-only and publishes its ticks straight from the mapping:
+// each tick is read with absolute gets and its symbol comes from a table
+// decoded once on open, so nothing is copied or allocated per tick. Only the
+// ticks and symbols counted in the header are read, so a capture whose
+// recorder never closed it replays up to its last recorded tick.
+class TickReplayer implements Closeable {
+    public static final double AS_FAST_AS_POSSIBLE = 0;
+    public static final double ORIGINAL_PACE = 1;
+
+    // Waits longer than this are parked; the remainder is spun for accuracy
+    private static final long SPIN_NANOS = 200_000;
+
+    private final FileChannel channel;
+    private final long startMillis;
+    private final long ticks;
+    private final String[] symbols;
+    private final MappedByteBuffer[] regions;
+
+    public TickReplayer(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(TickCaptureFormat.HEADER_BYTES);
+            readFully(header, 0);
+            header.flip();
+            if (header.getInt() != TickCaptureFormat.MAGIC || header.getInt() != TickCaptureFormat.VERSION) {
+                throw new IOException("Not a tick capture: " + file);
+            }
+            this.startMillis = header.getLong();
+            this.ticks = header.getLong();
+            int symbolAreaBytes = header.getInt();
+            int symbolCount = header.getInt();
+            if (ticks < 0 || symbolAreaBytes < 0 || symbolCount < 0) {
+                throw new IOException("Corrupt tick capture header: " + file);
+            }
+
+            ByteBuffer table = ByteBuffer.allocate(symbolAreaBytes);
+            readFully(table, TickCaptureFormat.HEADER_BYTES);
+            table.flip();
+            this.symbols = new String[symbolCount];
+            for (int i = 0; i < symbols.length; i++) {
+                byte[] symbol = new byte[table.getShort()];
+                table.get(symbol);
+                symbols[i] = new String(symbol, StandardCharsets.UTF_8).intern();
+            }
+
+            if (channel.size() < TickCaptureFormat.tickOffset(symbolAreaBytes, ticks)) {
+                throw new IOException("Tick capture is truncated");
+            }
+            int ticksPerRegion = (int) (TickCaptureFormat.MAX_REGION_BYTES / TickCaptureFormat.TICK_BYTES);
+            this.regions = new MappedByteBuffer[(int) ((ticks + ticksPerRegion - 1) / ticksPerRegion)];
+            for (int i = 0; i < regions.length; i++) {
+                long firstTick = (long) i * ticksPerRegion;
+                long regionTicks = Math.min(ticksPerRegion, ticks - firstTick);
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, TickCaptureFormat.tickOffset(symbolAreaBytes, firstTick),
+                        regionTicks * TickCaptureFormat.TICK_BYTES);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long getTickCount() {
+        return ticks;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    // speed 1 replays at the recorded pace, 10 ten times faster, and
+    // AS_FAST_AS_POSSIBLE (or any speed <= 0) ignores timestamps altogether.
+    // Returns the number of ticks published.
+    public long replay(StockMarket market, double speed) {
+        if (!channel.isOpen()) {
+            throw new IllegalStateException("Replayer is closed");
+        }
+        boolean paced = speed > 0 && !Double.isInfinite(speed);
+        long replayStart = System.nanoTime();
+        for (MappedByteBuffer region : regions) {
+            int regionTicks = region.capacity() / TickCaptureFormat.TICK_BYTES;
+            for (int i = 0; i < regionTicks; i++) {
+                int offset = i * TickCaptureFormat.TICK_BYTES;
+                if (paced) {
+                    awaitUntil(replayStart + (long) (region.getLong(offset) / speed));
+                }
+                market.publish(symbols[region.getInt(offset + 8)], region.getDouble(offset + 12));
+            }
+        }
+        return ticks;
+    }
+
+    private static void awaitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Tick capture is truncated");
+            }
+        }
+    }
+
+    // Drops the mappings so they can be collected; see TickRecorder on unmapping
+    @Override
+    public void close() throws IOException {
+        Arrays.fill(regions, null);
+        channel.close();
+    }
+}
+
+public class MarketTickCaptureDemo {
+    private static final String[] SYMBOLS = {"AAPL", "GOOGL", "MSFT", "AMZN"};
+
+    public static void main(String[] args) throws IOException {
+        Path capture = Files.createTempFile("market-ticks", ".bin");
+        try {
+            // Capture a short live session, then replay it against a fresh market
+            StockMarket nasdaq = new StockMarket();
+            try (TickRecorder recorder = new TickRecorder(capture)) {
+                nasdaq.registerObserver(recorder);
+                nasdaq.setStockInfo("AAPL", 150.50);
+                sleep(30);
+                nasdaq.setStockInfo("GOOGL", 2750.75);
+                sleep(30);
+                nasdaq.setStockInfo("MSFT", 305.25);
+            }
+
+            StockMarket replayMarket = new StockMarket();
+            replayMarket.registerObserver(new Investor("Warren Buffett"));
+            try (TickReplayer replayer = new TickReplayer(capture)) {
+                for (double speed : new double[]{TickReplayer.ORIGINAL_PACE, 10, TickReplayer.AS_FAST_AS_POSSIBLE}) {
+                    long started = System.nanoTime();
+                    replayer.replay(replayMarket, speed);
+                    System.out.printf("Replayed %d ticks at speed %s in %.1f ms%n", replayer.getTickCount(),
+                            speed == TickReplayer.AS_FAST_AS_POSSIBLE ? "max" : speed + "x", (System.nanoTime() - started) / 1e6);
+                }
+            }
+
+            // A burst large enough to measure recording cost and full-speed replay
+            int burst = 10_000_000;
+            long recordNanos;
+            try (TickRecorder recorder = new TickRecorder(capture)) {
+                long started = System.nanoTime();
+                for (int i = 0; i < burst; i++) {
+                    recorder.update(SYMBOLS[i & 3], 100.0 + (i & 1023) * 0.01);
+                }
+                recordNanos = System.nanoTime() - started;
+            }
+            StockMarket silentMarket = new StockMarket();
+            long replayNanos;
+            try (TickReplayer replayer = new TickReplayer(capture)) {
+                long started = System.nanoTime();
+                replayer.replay(silentMarket, TickReplayer.AS_FAST_AS_POSSIBLE);
+                replayNanos = System.nanoTime() - started;
+            }
+            System.out.printf("Burst of %,d ticks (%,d bytes): record %.1f ns/tick, max-speed replay %.1f ns/tick%n",
+                    burst, Files.size(capture), (double) recordNanos / burst, (double) replayNanos / burst);
+        } finally {
+            Files.deleteIfExists(capture);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.designpatterns.behavioral;
+
+interface Observer {
+    void update(String stockSymbol, double price);
+}
@@ -1,6 +1,7 @@
 // This code implements the Observer design pattern. It simulates a stock market system where the StockMarket class (Subject) maintains a list of investors (Observers).
 // When stock information (stock symbol and price) changes, it notifies all registered observers. The Investor class listens for updates and receives stock price changes.
 // Observers can be added or removed, and when the stock price is updated, all current observers are notified of the change.
+// Observers can also subscribe to a single symbol, and a ConflatingObserver lets a slow observer receive only the latest price per symbol.
 
 // to run this file run below command
 // javac com\designpatterns\behavioral\ObserverPatternDemo.java
@@ -8,78 +9,12 @@
 
 package com.designpatterns.behavioral;
 
-import java.util.ArrayList;
-import java.util.List;
-
-interface Subject {
-    void registerObserver(Observer observer);
-    void removeObserver(Observer observer);
-    void notifyObservers();
-}
-
-interface Observer {
-    void update(String stockSymbol, double price);
-}
-
-class StockMarket implements Subject {
-    private List<Observer> observers;
-    private String stockSymbol;
-    private double price;
-
-    public StockMarket() {
-        this.observers = new ArrayList<>();
-    }
-
-    @Override
-    public void registerObserver(Observer observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
-            System.out.println("Observer registered: " + observer);
-        }
-    }
-
-    @Override
-    public void removeObserver(Observer observer) {
-        if (observers.remove(observer)) {
-            System.out.println("Observer removed: " + observer);
-        }
-    }
-
-    @Override
-    public void notifyObservers() {
-        for (Observer observer : observers) {
-            observer.update(stockSymbol, price);
-        }
-    }
-
-    public void setStockInfo(String stockSymbol, double price) {
-        this.stockSymbol = stockSymbol;
-        this.price = price;
-        System.out.println("Stock price updated: " + stockSymbol + " - $" + price);
-        notifyObservers();
-    }
-}
-
-class Investor implements Observer {
-    private String name;
-
-    public Investor(String name) {
-        this.name = name;
-    }
-
-    @Override
-    public void update(String stockSymbol, double price) {
-        System.out.println(name + " received update: " + stockSymbol + " now at $" + price);
-    }
-
-    @Override
-    public String toString() {
-        return name;
-    }
-}
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class ObserverPatternDemo {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         StockMarket nasdaq = new StockMarket();
 
         Investor warren = new Investor("Warren Buffett");
@@ -94,5 +29,36 @@ public class ObserverPatternDemo {
         nasdaq.removeObserver(george);
 
         nasdaq.setStockInfo("MSFT", 305.25);
+
+        // Per-symbol subscriptions: only AAPL ticks reach this investor
+        Investor appleFan = new Investor("Apple Fan");
+        nasdaq.subscribe("AAPL", appleFan);
+        nasdaq.setStockInfo("AAPL", 151.00);
+        nasdaq.setStockInfo("GOOGL", 2751.00);
+
+        nasdaq.removeObserver(warren);
+
+        // A slow investor behind a conflating wrapper sees the latest price, not a backlog
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Investor slowTrader = new Investor("Slow Trader") {
+                @Override
+                public void update(String stockSymbol, double price) {
+                    super.update(stockSymbol, price);
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            nasdaq.subscribe("MSFT", new ConflatingObserver(slowTrader, executor));
+            for (int tick = 0; tick < 1_000; tick++) {
+                nasdaq.publish("MSFT", 305.25 + tick * 0.01);
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
     }
 }
\ No newline at end of file
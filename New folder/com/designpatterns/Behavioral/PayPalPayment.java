@@ -0,0 +1,19 @@
+package com.designpatterns.behavioral;
+
+class PayPalPayment implements PaymentStrategy {
+    private final String email;
+
+    public PayPalPayment(String email) {
+        this.email = email;
+    }
+
+    @Override
+    public void pay(double amount) {
+        System.out.println("Paid $" + amount + " using PayPal account: " + email);
+    }
+
+    @Override
+    public void payAll(double[] amounts) {
+        System.out.println("Paid $" + PaymentStrategy.total(amounts) + " in " + amounts.length + " payments using PayPal account: " + email);
+    }
+}
@@ -0,0 +1,323 @@
+// This code extends the Strategy example with a routing strategy. RoutingPaymentStrategy wraps several PaymentStrategy backends, keeps lock-free
+// EWMA latency and error-rate statistics for each, and sends every payment to the fastest healthy backend. A failed attempt is retried on the next
+// best backend, and an optional hedge sends a second attempt when the first has not finished after a configurable delay.
+// The demo compares tail latency for a cart bound to one simulated slow or flaky backend against the router over all of them.
+
+// to run this file run below command
+// javac com\designpatterns\behavioral\PaymentRoutingDemo.java
+// java com.designpatterns.behavioral.PaymentRoutingDemo
+
+package com.designpatterns.behavioral;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Routes each payment to the backend with the lowest latency estimate among
+// those whose error-rate estimate is under the health threshold.
+//
+// Hedging sends the same payment to a second backend, so it is only safe when
+// the backends de-duplicate retried payments (for example by an idempotency key
+// agreed out of band). It is disabled unless a hedge delay is given.
+class RoutingPaymentStrategy implements PaymentStrategy {
+    private static final double LATENCY_WEIGHT = 0.2;
+    private static final double ERROR_WEIGHT = 0.1;
+    private static final double HEALTHY_ERROR_RATE = 0.25;
+    private static final int PROBE_ONE_IN = 50;
+    private static final int MAX_BACKENDS = 256; // backend index shares a sort key with its score
+
+    private final PaymentStrategy[] backends;
+    private final BackendStats[] stats;
+    private final Executor executor;
+    private final long hedgeDelayNanos;
+
+    // Without hedging: failed attempts are retried on the next best backend
+    public RoutingPaymentStrategy(PaymentStrategy... backends) {
+        this(null, null, backends);
+    }
+
+    public RoutingPaymentStrategy(Executor executor, Duration hedgeDelay, PaymentStrategy... backends) {
+        if (backends.length == 0 || backends.length > MAX_BACKENDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BACKENDS + " backends are required");
+        }
+        if (hedgeDelay != null && executor == null) {
+            throw new IllegalArgumentException("Hedging needs an executor");
+        }
+        this.backends = backends.clone();
+        this.stats = new BackendStats[backends.length];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new BackendStats();
+        }
+        this.executor = executor;
+        this.hedgeDelayNanos = hedgeDelay == null ? -1 : hedgeDelay.toNanos();
+    }
+
+    @Override
+    public void pay(double amount) {
+        int[] order = rank();
+        if (hedgeDelayNanos < 0) {
+            payInOrder(amount, order);
+        } else {
+            payHedged(amount, order);
+        }
+    }
+
+    private void payInOrder(double amount, int[] order) {
+        RuntimeException last = null;
+        for (int backend : order) {
+            try {
+                attempt(backend, amount);
+                return;
+            } catch (RuntimeException e) {
+                last = e;
+            }
+        }
+        throw last;
+    }
+
+    private void payHedged(double amount, int[] order) {
+        CompletableFuture<Void> outcome = new CompletableFuture<>();
+        AtomicInteger nextBackend = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        launch(amount, order, nextBackend, failures, outcome, executor);
+        Executor hedgeTimer = CompletableFuture.delayedExecutor(hedgeDelayNanos, TimeUnit.NANOSECONDS, executor);
+        hedgeTimer.execute(() -> {
+            if (!outcome.isDone()) {
+                launch(amount, order, nextBackend, failures, outcome, executor);
+            }
+        });
+        try {
+            outcome.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    // Starts an attempt on the next untried backend; a failure immediately launches the one after it.
+    // Anything an attempt throws, Errors included, counts as a failure, so the last
+    // one always completes the outcome and the caller's join() never waits forever.
+    private void launch(double amount, int[] order, AtomicInteger nextBackend, AtomicInteger failures,
+            CompletableFuture<Void> outcome, Executor executor) {
+        int position = nextBackend.getAndIncrement();
+        if (position >= order.length) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    attempt(order[position], amount);
+                    outcome.complete(null);
+                } catch (Throwable e) {
+                    failed(e, amount, order, nextBackend, failures, outcome, executor);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            failed(e, amount, order, nextBackend, failures, outcome, executor);
+        }
+    }
+
+    private void failed(Throwable failure, double amount, int[] order, AtomicInteger nextBackend, AtomicInteger failures,
+            CompletableFuture<Void> outcome, Executor executor) {
+        if (failures.incrementAndGet() == order.length) {
+            outcome.completeExceptionally(failure);
+        } else if (!outcome.isDone()) {
+            launch(amount, order, nextBackend, failures, outcome, executor);
+        }
+    }
+
+    private void attempt(int backend, double amount) {
+        long started = System.nanoTime();
+        try {
+            backends[backend].pay(amount);
+            stats[backend].record(System.nanoTime() - started, false);
+        } catch (Throwable e) {
+            stats[backend].record(System.nanoTime() - started, true);
+            throw e;
+        }
+    }
+
+    // Healthy backends by latency, then unhealthy ones by error rate. Now and then a
+    // random backend goes first so that stale estimates get refreshed.
+    private int[] rank() {
+        int count = backends.length;
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            double errorRate = stats[i].errorRate();
+            double score = errorRate < HEALTHY_ERROR_RATE ? stats[i].latencyNanos() : 1e18 * (1 + errorRate);
+            keys[i] = (Double.doubleToLongBits(score) & ~0xFFL) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) (keys[i] & 0xFF);
+        }
+        if (count > 1 && ThreadLocalRandom.current().nextInt(PROBE_ONE_IN) == 0) {
+            int probe = 1 + ThreadLocalRandom.current().nextInt(count - 1);
+            int first = order[0];
+            order[0] = order[probe];
+            order[probe] = first;
+        }
+        return order;
+    }
+
+    public double latencyEstimateMillis(int backend) {
+        return stats[backend].latencyNanos() / 1e6;
+    }
+
+    public double errorRateEstimate(int backend) {
+        return stats[backend].errorRate();
+    }
+
+    // EWMA values stored as double bits in AtomicLongs and updated with CAS loops
+    private static final class BackendStats {
+        private final AtomicLong latencyBits = new AtomicLong(Double.doubleToRawLongBits(0));
+        private final AtomicLong errorBits = new AtomicLong(Double.doubleToRawLongBits(0));
+
+        void record(long latencyNanos, boolean failed) {
+            update(latencyBits, latencyNanos, LATENCY_WEIGHT);
+            update(errorBits, failed ? 1 : 0, ERROR_WEIGHT);
+        }
+
+        double latencyNanos() {
+            return Double.longBitsToDouble(latencyBits.get());
+        }
+
+        double errorRate() {
+            return Double.longBitsToDouble(errorBits.get());
+        }
+
+        private static void update(AtomicLong bits, double sample, double weight) {
+            long current;
+            long next;
+            do {
+                current = bits.get();
+                double value = Double.longBitsToDouble(current);
+                next = Double.doubleToRawLongBits(value + weight * (sample - value));
+            } while (!bits.compareAndSet(current, next));
+        }
+    }
+}
+
+// Test backend with a configurable latency profile and failure rate
+class SimulatedPaymentStrategy implements PaymentStrategy {
+    private final String name;
+    private final long baseMicros;
+    private final double tailProbability;
+    private final long tailMicros;
+    private final double failureRate;
+    private final ThreadLocal<SplittableRandom> random;
+
+    public SimulatedPaymentStrategy(String name, long baseMicros, double tailProbability, long tailMicros, double failureRate, long seed) {
+        this.name = name;
+        this.baseMicros = baseMicros;
+        this.tailProbability = tailProbability;
+        this.tailMicros = tailMicros;
+        this.failureRate = failureRate;
+        SplittableRandom root = new SplittableRandom(seed);
+        this.random = ThreadLocal.withInitial(() -> {
+            synchronized (root) {
+                return root.split();
+            }
+        });
+    }
+
+    public static SimulatedPaymentStrategy slow(String name, long seed) {
+        return new SimulatedPaymentStrategy(name, 2_000, 0.1, 60_000, 0.0, seed);
+    }
+
+    public static SimulatedPaymentStrategy flaky(String name, long seed) {
+        return new SimulatedPaymentStrategy(name, 1_500, 0.0, 0, 0.3, seed);
+    }
+
+    public static SimulatedPaymentStrategy steady(String name, long seed) {
+        return new SimulatedPaymentStrategy(name, 5_000, 0.0, 0, 0.0, seed);
+    }
+
+    @Override
+    public void pay(double amount) {
+        SplittableRandom rnd = random.get();
+        long micros = rnd.nextDouble() < tailProbability ? tailMicros : baseMicros;
+        try {
+            TimeUnit.MICROSECONDS.sleep(micros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " interrupted", e);
+        }
+        if (rnd.nextDouble() < failureRate) {
+            throw new IllegalStateException(name + " declined payment of $" + amount);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
+
+public class PaymentRoutingDemo {
+    private static final int PAYMENTS = 600;
+    private static final int SHOPPERS = 6;
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            PaymentStrategy slow = SimulatedPaymentStrategy.slow("slow", 1);
+            PaymentStrategy flaky = SimulatedPaymentStrategy.flaky("flaky", 2);
+            PaymentStrategy steady = SimulatedPaymentStrategy.steady("steady", 3);
+
+            run("cart on slow backend only", slow, executor);
+            run("cart on flaky backend only", flaky, executor);
+            run("router, retry only", new RoutingPaymentStrategy(slow, flaky, steady), executor);
+            RoutingPaymentStrategy hedged = new RoutingPaymentStrategy(executor, Duration.ofMillis(8), slow, flaky, steady);
+            run("router, hedged after 8 ms", hedged, executor);
+            System.out.printf("Router estimates: slow %.1f ms / %.0f%% errors, flaky %.1f ms / %.0f%% errors, steady %.1f ms / %.0f%% errors%n",
+                    hedged.latencyEstimateMillis(0), hedged.errorRateEstimate(0) * 100,
+                    hedged.latencyEstimateMillis(1), hedged.errorRateEstimate(1) * 100,
+                    hedged.latencyEstimateMillis(2), hedged.errorRateEstimate(2) * 100);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Several shoppers share one cart; each payment's wall time is recorded, failures included
+    private static void run(String name, PaymentStrategy strategy, ExecutorService executor) throws InterruptedException {
+        ShoppingCart cart = new ShoppingCart();
+        cart.setPaymentStrategy(strategy);
+        long[] latencies = new long[PAYMENTS];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        CompletableFuture<?>[] shoppers = new CompletableFuture<?>[SHOPPERS];
+        for (int s = 0; s < SHOPPERS; s++) {
+            shoppers[s] = CompletableFuture.runAsync(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < PAYMENTS) {
+                    long started = System.nanoTime();
+                    try {
+                        cart.checkout(10 + i % 50);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - started;
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(shoppers).join();
+        Arrays.sort(latencies);
+        System.out.printf("%-28s p50 %6.1f ms  p99 %6.1f ms  max %6.1f ms  failed %d/%d%n", name,
+                latencies[PAYMENTS / 2] / 1e6, latencies[PAYMENTS * 99 / 100] / 1e6, latencies[PAYMENTS - 1] / 1e6,
+                failures.get(), PAYMENTS);
+    }
+}
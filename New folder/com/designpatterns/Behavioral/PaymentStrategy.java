@@ -0,0 +1,22 @@
+package com.designpatterns.behavioral;
+
+interface PaymentStrategy {
+    void pay(double amount);
+
+    // Settles several amounts in one call. Strategies that can batch with their
+    // backend override this; the default falls back to one pay call per amount.
+    default void payAll(double[] amounts) {
+        for (double amount : amounts) {
+            pay(amount);
+        }
+    }
+
+    // Sum of a batch, for strategies that report or charge it as one amount
+    static double total(double[] amounts) {
+        double total = 0;
+        for (double amount : amounts) {
+            total += amount;
+        }
+        return total;
+    }
+}
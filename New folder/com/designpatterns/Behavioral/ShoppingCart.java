@@ -0,0 +1,13 @@
+package com.designpatterns.behavioral;
+
+class ShoppingCart {
+    private volatile PaymentStrategy paymentStrategy;
+
+    public void setPaymentStrategy(PaymentStrategy paymentStrategy) {
+        this.paymentStrategy = paymentStrategy;
+    }
+
+    public void checkout(double amount) {
+        paymentStrategy.pay(amount);
+    }
+}
@@ -0,0 +1,102 @@
+package com.designpatterns.behavioral;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Observers registered through the Subject methods receive every tick; observers
+// subscribed to a symbol receive only that symbol's ticks. Both are held in
+// copy-on-write arrays (one per symbol for subscriptions), rebuilt only when
+// subscriptions change, so publishing is one map lookup and two array walks
+// with the price kept as a primitive double throughout.
+class StockMarket implements Subject {
+    private static final Observer[] NONE = new Observer[0];
+
+    private volatile Observer[] observers = NONE;
+    private final ConcurrentHashMap<String, Observer[]> subscribers = new ConcurrentHashMap<>();
+    private String stockSymbol;
+    private double price;
+
+    @Override
+    public synchronized void registerObserver(Observer observer) {
+        if (indexOf(observers, observer) < 0) {
+            observers = append(observers, observer);
+            System.out.println("Observer registered: " + observer);
+        }
+    }
+
+    @Override
+    public synchronized void removeObserver(Observer observer) {
+        int index = indexOf(observers, observer);
+        if (index >= 0) {
+            observers = without(observers, index);
+            System.out.println("Observer removed: " + observer);
+        }
+    }
+
+    // Receives ticks for this symbol only
+    public void subscribe(String symbol, Observer observer) {
+        subscribers.compute(symbol, (key, current) -> {
+            if (current == null) {
+                return new Observer[]{observer};
+            }
+            return indexOf(current, observer) < 0 ? append(current, observer) : current;
+        });
+    }
+
+    public void unsubscribe(String symbol, Observer observer) {
+        subscribers.computeIfPresent(symbol, (key, current) -> {
+            int index = indexOf(current, observer);
+            if (index < 0) {
+                return current;
+            }
+            return current.length == 1 ? null : without(current, index);
+        });
+    }
+
+    @Override
+    public void notifyObservers() {
+        publish(stockSymbol, price);
+    }
+
+    public void setStockInfo(String stockSymbol, double price) {
+        this.stockSymbol = stockSymbol;
+        this.price = price;
+        System.out.println("Stock price updated: " + stockSymbol + " - $" + price);
+        notifyObservers();
+    }
+
+    // Delivery hot path: no logging, no per-tick allocation
+    public void publish(String symbol, double price) {
+        for (Observer observer : observers) {
+            observer.update(symbol, price);
+        }
+        Observer[] interested = subscribers.get(symbol);
+        if (interested != null) {
+            for (Observer observer : interested) {
+                observer.update(symbol, price);
+            }
+        }
+    }
+
+    private static int indexOf(Observer[] array, Observer observer) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i].equals(observer)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Observer[] append(Observer[] array, Observer observer) {
+        Observer[] extended = Arrays.copyOf(array, array.length + 1);
+        extended[array.length] = observer;
+        return extended;
+    }
+
+    private static Observer[] without(Observer[] array, int index) {
+        Observer[] reduced = new Observer[array.length - 1];
+        System.arraycopy(array, 0, reduced, 0, index);
+        System.arraycopy(array, index + 1, reduced, index, array.length - index - 1);
+        return reduced;
+    }
+}
@@ -1,6 +1,7 @@
 // This code implements the Strategy design pattern. It simulates a shopping cart system where different payment methods (CreditCardPayment, PayPalPayment, BitcoinPayment) can be selected at runtime.
 // The PaymentStrategy interface defines a common method 'pay' which is implemented by different payment types.
 // The ShoppingCart class uses a payment strategy to complete a transaction. The strategy can be changed at runtime, allowing flexible payment options during checkout.
+// For high volume, CheckoutService accepts concurrent checkouts, bounds how many are in flight and settles them in batches through PaymentStrategy.payAll.
 
 // to run this file run below command
 // javac com\designpatterns\behavioral\StrategyPatternDemo.java
@@ -8,64 +9,12 @@
 
 package com.designpatterns.behavioral;
 
-// Payment strategies
-interface PaymentStrategy {
-    void pay(double amount);
-}
-
-class CreditCardPayment implements PaymentStrategy {
-    private String cardNumber;
-
-    public CreditCardPayment(String cardNumber) {
-        this.cardNumber = cardNumber;
-    }
-
-    @Override
-    public void pay(double amount) {
-        System.out.println("Paid $" + amount + " using Credit Card ending with " + cardNumber.substring(cardNumber.length() - 4));
-    }
-}
-
-class PayPalPayment implements PaymentStrategy {
-    private String email;
-
-    public PayPalPayment(String email) {
-        this.email = email;
-    }
-
-    @Override
-    public void pay(double amount) {
-        System.out.println("Paid $" + amount + " using PayPal account: " + email);
-    }
-}
-
-class BitcoinPayment implements PaymentStrategy {
-    private String walletId;
-
-    public BitcoinPayment(String walletId) {
-        this.walletId = walletId;
-    }
-
-    @Override
-    public void pay(double amount) {
-        System.out.println("Paid $" + amount + " worth of Bitcoin from wallet: " + walletId);
-    }
-}
-
-class ShoppingCart {
-    private PaymentStrategy paymentStrategy;
-
-    public void setPaymentStrategy(PaymentStrategy paymentStrategy) {
-        this.paymentStrategy = paymentStrategy;
-    }
-
-    public void checkout(double amount) {
-        paymentStrategy.pay(amount);
-    }
-}
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class StrategyPatternDemo {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         ShoppingCart cart = new ShoppingCart();
         
         cart.setPaymentStrategy(new CreditCardPayment("1234-5678-9012-3456"));
@@ -76,5 +25,31 @@ public class StrategyPatternDemo {
 
         cart.setPaymentStrategy(new BitcoinPayment("1BvBMSEYstWetqTFn5Au4m4GFg7xJaNVN2"));
         cart.checkout(75.0);
+
+        // Many concurrent shoppers sharing one checkout service. Batches settle on
+        // their own small pool, which the shoppers waiting for a permit cannot fill.
+        ExecutorService shopperExecutor = CheckoutService.defaultExecutor(64);
+        ExecutorService settlementExecutor = Executors.newFixedThreadPool(2);
+        try {
+            CheckoutService service = new CheckoutService(new CreditCardPayment("1234-5678-9012-3456"), settlementExecutor, 1_000, 500, 2);
+            int shoppers = 5_000;
+            CountDownLatch done = new CountDownLatch(shoppers);
+            for (int i = 0; i < shoppers; i++) {
+                double amount = 10 + i % 90;
+                shopperExecutor.execute(() -> {
+                    try {
+                        service.checkout(amount).whenComplete((ignored, failure) -> done.countDown());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+            System.out.println("Completed " + shoppers + " concurrent checkouts");
+        } finally {
+            shopperExecutor.shutdown();
+            settlementExecutor.shutdown();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.designpatterns.behavioral;
+
+interface Subject {
+    void registerObserver(Observer observer);
+    void removeObserver(Observer observer);
+    void notifyObservers();
+}
@@ -0,0 +1,247 @@
+package com.designpatterns.behavioral;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Single producer: the first thread to publish() (or update(), which calls it)
+// after start() owns the ring until close(), and publishes from any other
+// thread are rejected. Observers are added before start(); the set of consumers
+// is fixed while running, and publishing is only accepted between start() and
+// close(), which the producer calls (or waits for) once it has stopped.
+class TickDispatcher implements Observer, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(TickDispatcher.class.getName());
+    private static final long RELEASED = Long.MAX_VALUE;
+
+    private final int mask;
+    private final String[] symbols;
+    private final double[] prices;
+    private final Sequence published = new Sequence(-1);
+    private final ThreadFactory threadFactory;
+
+    private volatile Observer[] observers = new Observer[0];
+    private volatile Sequence[] cursors = new Sequence[0];
+    private Thread[] threads = new Thread[0];
+    // Written under this lock. publish() reads it after the volatile read of
+    // running, so it never sees a producer from before the last start().
+    private Thread producer;
+    private long nextSequence;
+    private long cachedMinimumCursor = -1;
+    private volatile boolean running;
+
+    public TickDispatcher(int capacity) {
+        this(capacity, task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Consumers wait by spinning, then yielding, then parking briefly. Platform
+    // threads suit that best; a virtual thread factory works but spinning pins
+    // its carrier thread for the duration.
+    public TickDispatcher(int capacity, ThreadFactory threadFactory) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.symbols = new String[capacity];
+        this.prices = new double[capacity];
+        this.threadFactory = threadFactory;
+    }
+
+    public synchronized void addObserver(Observer observer) {
+        if (running) {
+            throw new IllegalStateException("Observers must be added before start()");
+        }
+        observers = Arrays.copyOf(observers, observers.length + 1);
+        observers[observers.length - 1] = observer;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        cursors = new Sequence[observers.length];
+        threads = new Thread[observers.length];
+        for (int i = 0; i < observers.length; i++) {
+            Sequence cursor = new Sequence(published.get());
+            Observer observer = observers[i];
+            cursors[i] = cursor;
+            threads[i] = threadFactory.newThread(() -> consume(observer, cursor));
+            threads[i].setName("tick-consumer-" + observer);
+            threads[i].start();
+        }
+    }
+
+    @Override
+    public void update(String stockSymbol, double price) {
+        publish(stockSymbol, price);
+    }
+
+    public void publish(String symbol, double price) {
+        if (!running) {
+            throw new IllegalStateException("Dispatcher is not running");
+        }
+        Thread current = Thread.currentThread();
+        if (producer != current) {
+            claimProducer(current);
+        }
+        long sequence = nextSequence;
+        long wrapPoint = sequence - symbols.length;
+        if (wrapPoint > cachedMinimumCursor) {
+            awaitConsumers(wrapPoint);
+        }
+        int index = (int) sequence & mask;
+        symbols[index] = symbol;
+        prices[index] = price;
+        nextSequence = sequence + 1;
+        published.setRelease(sequence);
+    }
+
+    // Off the hot path: runs once for the owning thread, and for every publish
+    // from any other thread
+    private synchronized void claimProducer(Thread current) {
+        if (!running) {
+            throw new IllegalStateException("Dispatcher is not running");
+        }
+        if (producer == null) {
+            producer = current;
+        } else if (producer != current) {
+            throw new IllegalStateException("TickDispatcher has a single producer, " + producer.getName()
+                    + "; rejected publish from " + current.getName());
+        }
+    }
+
+    // A consumer that exits releases its cursor, so a dead consumer never
+    // holds the publisher here
+    private void awaitConsumers(long wrapPoint) {
+        int idle = 0;
+        long minimum;
+        while (wrapPoint > (minimum = minimumCursor())) {
+            idle = idle(idle);
+        }
+        cachedMinimumCursor = minimum;
+    }
+
+    private long minimumCursor() {
+        long minimum = published.get();
+        for (Sequence cursor : cursors) {
+            minimum = Math.min(minimum, cursor.get());
+        }
+        return minimum;
+    }
+
+    // Each pass delivers everything published since the last one and then
+    // advances the cursor once, so the publisher sees one store per batch.
+    // An observer's RuntimeException is logged and skipped; an Error ends the
+    // consumer, which then stops gating the publisher.
+    private void consume(Observer observer, Sequence cursor) {
+        try {
+            long next = cursor.get() + 1;
+            int idle = 0;
+            while (true) {
+                long available = published.get();
+                if (available < next) {
+                    if (!running && available == published.get()) {
+                        return;
+                    }
+                    idle = idle(idle);
+                    continue;
+                }
+                idle = 0;
+                for (long sequence = next; sequence <= available; sequence++) {
+                    int index = (int) sequence & mask;
+                    try {
+                        observer.update(symbols[index], prices[index]);
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.WARNING, "Observer " + observer + " failed on " + symbols[index], e);
+                    }
+                }
+                cursor.setRelease(available);
+                next = available + 1;
+            }
+        } catch (Error e) {
+            LOGGER.log(Level.SEVERE, "Observer " + observer + " stopped; it receives no further ticks", e);
+            throw e;
+        } finally {
+            cursor.setRelease(RELEASED);
+        }
+    }
+
+    private static int idle(int idle) {
+        if (idle < 100) {
+            Thread.onSpinWait();
+        } else if (idle < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(50_000);
+        }
+        return idle + 1;
+    }
+
+    // Lets consumers drain what has been published, then stops them. Later
+    // publishes are rejected; after a new start() any thread may produce again.
+    @Override
+    public void close() {
+        Thread[] started;
+        synchronized (this) {
+            running = false;
+            producer = null;
+            started = threads;
+        }
+        try {
+            for (Thread thread : started) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TickDispatcher(" + observers.length + " observers, " + symbols.length + " slots)";
+    }
+
+    // A cursor padded on both sides so that the publisher's sequence and each
+    // consumer's cursor sit on separate cache lines
+    static final class Sequence extends SequenceValue {
+        private long p9, p10, p11, p12, p13, p14, p15;
+
+        Sequence(long initial) {
+            setRelease(initial);
+        }
+    }
+
+    static class SequenceLeftPadding {
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    static class SequenceValue extends SequenceLeftPadding {
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile long value;
+
+        long get() {
+            return value;
+        }
+
+        void setRelease(long newValue) {
+            VALUE.setRelease(this, newValue);
+        }
+    }
+}
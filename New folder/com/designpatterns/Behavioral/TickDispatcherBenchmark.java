@@ -0,0 +1,83 @@
+// Measures tick throughput through StockMarket with observers called on the publishing thread against the same observers behind a
+// TickDispatcher. Each observer only folds the price into a running sum, so the numbers reflect dispatch cost rather than observer work.
+
+// to run this file run below command
+// javac com\designpatterns\behavioral\TickDispatcherBenchmark.java
+// java com.designpatterns.behavioral.TickDispatcherBenchmark [ticks] [observers]
+
+package com.designpatterns.behavioral;
+
+public class TickDispatcherBenchmark {
+    private static final String[] SYMBOLS = {"AAPL", "GOOGL", "MSFT", "AMZN", "NVDA", "META", "TSLA", "NFLX"};
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int observerCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("round %d: direct %,.0f ticks/s, ring %,.0f ticks/s%n",
+                    round, direct(ticks, observerCount), ring(ticks, observerCount));
+        }
+    }
+
+    private static double direct(int ticks, int observerCount) {
+        StockMarket market = new StockMarket();
+        SummingObserver[] observers = observers(observerCount);
+        for (SummingObserver observer : observers) {
+            market.registerObserver(observer);
+        }
+        long started = System.nanoTime();
+        publish(market, ticks);
+        return ticksPerSecond(ticks, started, observers);
+    }
+
+    private static double ring(int ticks, int observerCount) {
+        StockMarket market = new StockMarket();
+        SummingObserver[] observers = observers(observerCount);
+        TickDispatcher dispatcher = new TickDispatcher(1 << 16);
+        for (SummingObserver observer : observers) {
+            dispatcher.addObserver(observer);
+        }
+        dispatcher.start();
+        market.registerObserver(dispatcher);
+        long started = System.nanoTime();
+        publish(market, ticks);
+        dispatcher.close();
+        return ticksPerSecond(ticks, started, observers);
+    }
+
+    private static void publish(StockMarket market, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            market.publish(SYMBOLS[i & 7], 100.0 + (i & 1023) * 0.01);
+        }
+    }
+
+    private static double ticksPerSecond(int ticks, long started, SummingObserver[] observers) {
+        double seconds = (System.nanoTime() - started) / 1e9;
+        for (SummingObserver observer : observers) {
+            if (observer.count != ticks) {
+                throw new IllegalStateException(observer.count + " of " + ticks + " ticks delivered");
+            }
+        }
+        return ticks / seconds;
+    }
+
+    private static SummingObserver[] observers(int count) {
+        SummingObserver[] observers = new SummingObserver[count];
+        for (int i = 0; i < count; i++) {
+            observers[i] = new SummingObserver();
+        }
+        return observers;
+    }
+
+    private static final class SummingObserver implements Observer {
+        double sum;
+        long count;
+
+        @Override
+        public void update(String stockSymbol, double price) {
+            sum += price;
+            count++;
+        }
+    }
+}
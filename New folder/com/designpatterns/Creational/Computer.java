@@ -0,0 +1,167 @@
+package com.designpatterns.creational;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builder Pattern: Separates the construction of a complex object from its
+ * representation, allowing the same construction process to create various
+ * representations.
+ *
+ * Use Case: Custom Computer Configuration System
+ *
+ * This example demonstrates a flexible computer building system where different
+ * configurations can be created using a step-by-step process.
+ */
+// Product class. Immutable: every field is final and component names are
+// interned, so the many configurations that share a CPU or GPU also share
+// its String. Peripherals are kept in a plain array that is never mutated.
+final class Computer {
+
+    private static final String[] NO_PERIPHERALS = new String[0];
+
+    private final String cpu;
+    private final String ram;
+    private final String storage;
+    private final String gpu;
+    private final String[] peripherals;
+
+    private Computer(String cpu, String ram, String storage, String gpu, String[] peripherals) {
+        this.cpu = cpu;
+        this.ram = ram;
+        this.storage = storage;
+        this.gpu = gpu;
+        this.peripherals = peripherals;
+    }
+
+    public String getCpu() {
+        return cpu;
+    }
+
+    public String getRam() {
+        return ram;
+    }
+
+    public String getStorage() {
+        return storage;
+    }
+
+    public String getGpu() {
+        return gpu;
+    }
+
+    public List<String> getPeripherals() {
+        return Collections.unmodifiableList(Arrays.asList(peripherals));
+    }
+
+    // Starts a builder pre-filled with this configuration
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Computer)) {
+            return false;
+        }
+        Computer other = (Computer) o;
+        return Objects.equals(cpu, other.cpu)
+                && Objects.equals(ram, other.ram)
+                && Objects.equals(storage, other.storage)
+                && Objects.equals(gpu, other.gpu)
+                && Arrays.equals(peripherals, other.peripherals);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(cpu, ram, storage, gpu) + Arrays.hashCode(peripherals);
+    }
+
+    @Override
+    public String toString() {
+        return "Computer{"
+                + "cpu='" + cpu + '\''
+                + ", ram='" + ram + '\''
+                + ", storage='" + storage + '\''
+                + ", gpu='" + gpu + '\''
+                + ", peripherals=" + Arrays.toString(peripherals)
+                + '}';
+    }
+
+    private static String intern(String component) {
+        return component == null ? null : component.intern();
+    }
+
+    // Static nested Builder class. Interning and peripheral copying happen in the
+    // setters, so build() is a single allocation and a builder can keep being
+    // changed or reused after building. Every field refers to an immutable value,
+    // so copy() yields an independent builder that is safe to hand to another thread.
+    static class Builder {
+
+        private String cpu;
+        private String ram;
+        private String storage;
+        private String gpu;
+        private String[] peripherals = NO_PERIPHERALS;
+
+        public Builder() {
+        }
+
+        private Builder(Computer computer) {
+            this.cpu = computer.cpu;
+            this.ram = computer.ram;
+            this.storage = computer.storage;
+            this.gpu = computer.gpu;
+            this.peripherals = computer.peripherals;
+        }
+
+        private Builder(Builder other) {
+            this.cpu = other.cpu;
+            this.ram = other.ram;
+            this.storage = other.storage;
+            this.gpu = other.gpu;
+            this.peripherals = other.peripherals;
+        }
+
+        public Builder copy() {
+            return new Builder(this);
+        }
+
+        public Builder cpu(String cpu) {
+            this.cpu = intern(cpu);
+            return this;
+        }
+
+        public Builder ram(String ram) {
+            this.ram = intern(ram);
+            return this;
+        }
+
+        public Builder storage(String storage) {
+            this.storage = intern(storage);
+            return this;
+        }
+
+        public Builder gpu(String gpu) {
+            this.gpu = intern(gpu);
+            return this;
+        }
+
+        // Copy-on-write, so arrays already handed to built computers are never touched
+        public Builder addPeripheral(String peripheral) {
+            String[] extended = Arrays.copyOf(peripherals, peripherals.length + 1);
+            extended[peripherals.length] = intern(peripheral);
+            this.peripherals = extended;
+            return this;
+        }
+
+        public Computer build() {
+            return new Computer(cpu, ram, storage, gpu, peripherals);
+        }
+    }
+}
@@ -0,0 +1,572 @@
+// This code adds a compatibility rule engine on top of the Builder example. Components in a catalog are given ordinal IDs per slot (CPU, RAM, storage, GPU),
+// and every pairwise rule (matching socket or memory type, PSU power budget, ...) is compiled once into bitset masks: for each component, the set of
+// compatible component IDs in every other slot. Validating a configuration is then a handful of bit tests, and the engine can enumerate the whole
+// configuration space in parallel with fork-join, intersecting masks as it descends, while streaming the N cheapest valid builds into a bounded heap.
+
+package com.designpatterns.creational;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Slots a configuration is built from, in enumeration order
+enum Slot {
+    CPU, RAM, STORAGE, GPU
+}
+
+// A catalog entry. Prices are kept in cents so totals stay exact.
+final class Component {
+
+    private final Slot slot;
+    private final int id;
+    private final String name;
+    private final long priceCents;
+    private final int watts;
+    private final Map<String, String> attributes;
+
+    Component(Slot slot, int id, String name, long priceCents, int watts, Map<String, String> attributes) {
+        this.slot = slot;
+        this.id = id;
+        this.name = name.intern();
+        this.priceCents = priceCents;
+        this.watts = watts;
+        this.attributes = Map.copyOf(attributes);
+    }
+
+    public Slot getSlot() {
+        return slot;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    public int getWatts() {
+        return watts;
+    }
+
+    public String getAttribute(String key) {
+        return attributes.get(key);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
+
+// Pairwise rule between two slots; compiled into masks, never evaluated during validation
+interface CompatibilityRule {
+
+    Slot first();
+
+    Slot second();
+
+    boolean compatible(Component first, Component second);
+
+    // Both components must carry the same value for the attribute, e.g. CPU and RAM "memory"
+    static CompatibilityRule sameAttribute(Slot first, Slot second, String attribute) {
+        return rule(first, second, (a, b) -> {
+            String value = a.getAttribute(attribute);
+            return value != null && value.equals(b.getAttribute(attribute));
+        });
+    }
+
+    // Combined draw of the two components plus a fixed base load must fit the PSU.
+    // Rules only ever see one pair of slots, so this does not add up the other
+    // slots' draw: fold their worst case into baseWatts when it matters.
+    static CompatibilityRule powerBudget(Slot first, Slot second, int baseWatts, int psuWatts) {
+        return rule(first, second, (a, b) -> baseWatts + a.getWatts() + b.getWatts() <= psuWatts);
+    }
+
+    static CompatibilityRule rule(Slot first, Slot second, java.util.function.BiPredicate<Component, Component> predicate) {
+        if (first.ordinal() >= second.ordinal()) {
+            throw new IllegalArgumentException("Rule slots must be given in Slot order: " + first + ", " + second);
+        }
+        return new CompatibilityRule() {
+            @Override
+            public Slot first() {
+                return first;
+            }
+
+            @Override
+            public Slot second() {
+                return second;
+            }
+
+            @Override
+            public boolean compatible(Component a, Component b) {
+                return predicate.test(a, b);
+            }
+        };
+    }
+}
+
+// Compiled rule set. masks[a][b][id] holds, as a long[] bitset, the IDs in slot b
+// that are compatible with component id of slot a (for a < b in Slot order).
+class CompatibilityEngine {
+
+    private static final Slot[] SLOTS = Slot.values();
+    private static final int ID_BITS = 16;
+    private static final int MAX_COMPONENTS_PER_SLOT = 1 << ID_BITS;
+    private static final int LEAF_PAIRS = 64;
+
+    private final Component[][] components;
+    private final List<Map<String, Integer>> idsByName;
+    private final long[][][][] masks;
+
+    private CompatibilityEngine(Builder builder) {
+        int slotCount = SLOTS.length;
+        components = new Component[slotCount][];
+        idsByName = new ArrayList<>(slotCount);
+        for (Slot slot : SLOTS) {
+            List<Component> list = builder.catalog.get(slot);
+            components[slot.ordinal()] = list.toArray(new Component[0]);
+            Map<String, Integer> ids = new HashMap<>();
+            for (Component component : list) {
+                ids.put(component.getName(), component.getId());
+            }
+            idsByName.add(ids);
+        }
+
+        // Every pair starts fully compatible; each rule clears the bits it rejects
+        masks = new long[slotCount][slotCount][][];
+        for (int a = 0; a < slotCount; a++) {
+            for (int b = a + 1; b < slotCount; b++) {
+                int words = wordsFor(components[b].length);
+                masks[a][b] = new long[components[a].length][];
+                for (int id = 0; id < components[a].length; id++) {
+                    long[] mask = new long[words];
+                    for (int other = 0; other < components[b].length; other++) {
+                        mask[other >>> 6] |= 1L << other;
+                    }
+                    masks[a][b][id] = mask;
+                }
+            }
+        }
+        for (CompatibilityRule rule : builder.rules) {
+            int a = rule.first().ordinal();
+            int b = rule.second().ordinal();
+            for (Component first : components[a]) {
+                long[] mask = masks[a][b][first.getId()];
+                for (Component second : components[b]) {
+                    if (!rule.compatible(first, second)) {
+                        mask[second.getId() >>> 6] &= ~(1L << second.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    public int componentCount(Slot slot) {
+        return components[slot.ordinal()].length;
+    }
+
+    public Component component(Slot slot, int id) {
+        return components[slot.ordinal()][id];
+    }
+
+    // Fast path: one bit test per slot pair
+    public boolean isValid(int cpu, int ram, int storage, int gpu) {
+        return bit(masks[0][1][cpu], ram)
+                && bit(masks[0][2][cpu], storage)
+                && bit(masks[0][3][cpu], gpu)
+                && bit(masks[1][2][ram], storage)
+                && bit(masks[1][3][ram], gpu)
+                && bit(masks[2][3][storage], gpu);
+    }
+
+    // Checks a built Computer; components missing from the catalog make it invalid
+    public boolean isValid(Computer computer) {
+        Integer cpu = idsByName.get(Slot.CPU.ordinal()).get(computer.getCpu());
+        Integer ram = idsByName.get(Slot.RAM.ordinal()).get(computer.getRam());
+        Integer storage = idsByName.get(Slot.STORAGE.ordinal()).get(computer.getStorage());
+        Integer gpu = idsByName.get(Slot.GPU.ordinal()).get(computer.getGpu());
+        return cpu != null && ram != null && storage != null && gpu != null && isValid(cpu, ram, storage, gpu);
+    }
+
+    public long priceCents(long configuration) {
+        long total = 0;
+        for (Slot slot : SLOTS) {
+            total += components[slot.ordinal()][idOf(configuration, slot)].getPriceCents();
+        }
+        return total;
+    }
+
+    public Computer toComputer(long configuration) {
+        return new Computer.Builder()
+                .cpu(component(Slot.CPU, idOf(configuration, Slot.CPU)).getName())
+                .ram(component(Slot.RAM, idOf(configuration, Slot.RAM)).getName())
+                .storage(component(Slot.STORAGE, idOf(configuration, Slot.STORAGE)).getName())
+                .gpu(component(Slot.GPU, idOf(configuration, Slot.GPU)).getName())
+                .build();
+    }
+
+    // Packs one ID per slot into a long, 16 bits each
+    public static long encode(int cpu, int ram, int storage, int gpu) {
+        return ((long) cpu << (3 * ID_BITS)) | ((long) ram << (2 * ID_BITS)) | ((long) storage << ID_BITS) | gpu;
+    }
+
+    public static int idOf(long configuration, Slot slot) {
+        return (int) (configuration >>> ((SLOTS.length - 1 - slot.ordinal()) * ID_BITS)) & (MAX_COMPONENTS_PER_SLOT - 1);
+    }
+
+    // Walks the whole valid configuration space on the pool without materialising it
+    public Result enumerate(ForkJoinPool pool, int cheapest) {
+        long pairs = (long) componentCount(Slot.CPU) * componentCount(Slot.RAM);
+        return pool.invoke(new EnumerationTask(0, pairs, cheapest));
+    }
+
+    private static boolean bit(long[] mask, int id) {
+        return (mask[id >>> 6] & (1L << id)) != 0;
+    }
+
+    private static int wordsFor(int count) {
+        return Math.max(1, (count + 63) >>> 6);
+    }
+
+    // Splits the CPU x RAM index range; leaves intersect masks for the remaining slots
+    private class EnumerationTask extends RecursiveTask<Result> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final int cheapest;
+
+        EnumerationTask(long from, long to, int cheapest) {
+            this.from = from;
+            this.to = to;
+            this.cheapest = cheapest;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from > LEAF_PAIRS) {
+                long mid = (from + to) >>> 1;
+                EnumerationTask left = new EnumerationTask(from, mid, cheapest);
+                left.fork();
+                Result right = new EnumerationTask(mid, to, cheapest).compute();
+                return left.join().merge(right);
+            }
+
+            Result result = new Result(cheapest);
+            int ramCount = componentCount(Slot.RAM);
+            long[] storageMask = new long[wordsFor(componentCount(Slot.STORAGE))];
+            long[] gpuMask = new long[wordsFor(componentCount(Slot.GPU))];
+            Component[] storages = components[Slot.STORAGE.ordinal()];
+            Component[] gpus = components[Slot.GPU.ordinal()];
+            for (long pair = from; pair < to; pair++) {
+                int cpu = (int) (pair / ramCount);
+                int ram = (int) (pair % ramCount);
+                if (!bit(masks[0][1][cpu], ram)) {
+                    continue;
+                }
+                long pairPrice = components[0][cpu].getPriceCents() + components[1][ram].getPriceCents();
+                and(storageMask, masks[0][2][cpu], masks[1][2][ram]);
+                for (int storage = nextBit(storageMask, 0); storage >= 0; storage = nextBit(storageMask, storage + 1)) {
+                    long partialPrice = pairPrice + storages[storage].getPriceCents();
+                    and(gpuMask, masks[0][3][cpu], masks[1][3][ram]);
+                    andInPlace(gpuMask, masks[2][3][storage]);
+                    if (result.cheapest.cannotImprove(partialPrice)) {
+                        // Prices are non-negative, so count the subtree but skip the heap work
+                        result.count += cardinality(gpuMask);
+                        continue;
+                    }
+                    for (int gpu = nextBit(gpuMask, 0); gpu >= 0; gpu = nextBit(gpuMask, gpu + 1)) {
+                        result.count++;
+                        result.cheapest.offer(partialPrice + gpus[gpu].getPriceCents(), encode(cpu, ram, storage, gpu));
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    private static void and(long[] target, long[] a, long[] b) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = a[i] & b[i];
+        }
+    }
+
+    private static void andInPlace(long[] target, long[] mask) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] &= mask[i];
+        }
+    }
+
+    private static long cardinality(long[] mask) {
+        long count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int nextBit(long[] mask, int from) {
+        int word = from >>> 6;
+        if (word >= mask.length) {
+            return -1;
+        }
+        long bits = mask[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == mask.length) {
+                return -1;
+            }
+            bits = mask[word];
+        }
+    }
+
+    // Count of valid configurations plus the cheapest ones seen
+    static class Result {
+
+        private long count;
+        private final CheapestBuilds cheapest;
+
+        Result(int capacity) {
+            this.cheapest = new CheapestBuilds(capacity);
+        }
+
+        Result merge(Result other) {
+            count += other.count;
+            cheapest.mergeFrom(other.cheapest);
+            return this;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        // Encoded configurations, cheapest first
+        public long[] getCheapest() {
+            return cheapest.sorted();
+        }
+    }
+
+    static class Builder {
+
+        private final Map<Slot, List<Component>> catalog = new EnumMap<>(Slot.class);
+        private final List<CompatibilityRule> rules = new ArrayList<>();
+
+        public Builder() {
+            for (Slot slot : SLOTS) {
+                catalog.put(slot, new ArrayList<>());
+            }
+        }
+
+        // Attributes are given as alternating key, value strings. Prices must not be
+        // negative, since the enumeration prunes on partial totals, and names are
+        // unique within a slot, since configurations are looked up by name.
+        public Builder component(Slot slot, String name, long priceCents, int watts, String... attributes) {
+            List<Component> list = catalog.get(slot);
+            if (list.size() == MAX_COMPONENTS_PER_SLOT) {
+                throw new IllegalArgumentException("Too many components for slot " + slot);
+            }
+            if (priceCents < 0) {
+                throw new IllegalArgumentException("Negative price for " + name + ": " + priceCents);
+            }
+            for (Component existing : list) {
+                if (existing.getName().equals(name)) {
+                    throw new IllegalArgumentException("Duplicate " + slot + " component: " + name);
+                }
+            }
+            if (attributes.length % 2 != 0) {
+                throw new IllegalArgumentException("Attributes must be key/value pairs");
+            }
+            Map<String, String> map = new HashMap<>();
+            for (int i = 0; i < attributes.length; i += 2) {
+                map.put(attributes[i], attributes[i + 1]);
+            }
+            list.add(new Component(slot, list.size(), name, priceCents, watts, map));
+            return this;
+        }
+
+        public Builder rule(CompatibilityRule rule) {
+            rules.add(rule);
+            return this;
+        }
+
+        public CompatibilityEngine build() {
+            for (Slot slot : SLOTS) {
+                if (catalog.get(slot).isEmpty()) {
+                    throw new IllegalStateException("Catalog has no " + slot + " components");
+                }
+            }
+            return new CompatibilityEngine(this);
+        }
+    }
+}
+
+// Bounded max-heap on price over primitive arrays. Keeps the N cheapest
+// configurations seen so far; ties are broken by the encoded configuration so
+// results do not depend on how the work was split.
+class CheapestBuilds {
+
+    private final long[] prices;
+    private final long[] configurations;
+    private int size;
+
+    CheapestBuilds(int capacity) {
+        prices = new long[capacity];
+        configurations = new long[capacity];
+    }
+
+    boolean cannotImprove(long lowerBound) {
+        return size == prices.length && (prices.length == 0 || lowerBound > prices[0]);
+    }
+
+    void offer(long price, long configuration) {
+        if (size < prices.length) {
+            prices[size] = price;
+            configurations[size] = configuration;
+            siftUp(size++);
+        } else if (size > 0 && isLess(price, configuration, prices[0], configurations[0])) {
+            prices[0] = price;
+            configurations[0] = configuration;
+            siftDown(0);
+        }
+    }
+
+    void mergeFrom(CheapestBuilds other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.prices[i], other.configurations[i]);
+        }
+    }
+
+    long[] sorted() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> isLess(prices[a], configurations[a], prices[b], configurations[b]) ? -1
+                : isLess(prices[b], configurations[b], prices[a], configurations[a]) ? 1 : 0);
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = configurations[order[i]];
+        }
+        return result;
+    }
+
+    private static boolean isLess(long price, long configuration, long otherPrice, long otherConfiguration) {
+        return price < otherPrice || (price == otherPrice && configuration < otherConfiguration);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isLess(prices[parent], configurations[parent], prices[index], configurations[index])) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int largest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && isLess(prices[largest], configurations[largest], prices[left], configurations[left])) {
+                largest = left;
+            }
+            if (right < size && isLess(prices[largest], configurations[largest], prices[right], configurations[right])) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            swap(largest, index);
+            index = largest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long price = prices[a];
+        prices[a] = prices[b];
+        prices[b] = price;
+        long configuration = configurations[a];
+        configurations[a] = configurations[b];
+        configurations[b] = configuration;
+    }
+}
+
+public class ComputerCompatibilityDemo {
+    public static void main(String[] args) {
+        CompatibilityEngine engine = new CompatibilityEngine.Builder()
+                .component(Slot.CPU, "Intel Core i9", 54_900, 125, "socket", "LGA1700", "memory", "DDR4")
+                .component(Slot.CPU, "Intel Core i5", 22_900, 65, "socket", "LGA1700", "memory", "DDR4")
+                .component(Slot.CPU, "AMD Ryzen 7", 29_900, 105, "socket", "AM5", "memory", "DDR5")
+                .component(Slot.CPU, "AMD Ryzen Threadripper", 149_900, 280, "socket", "sTRX4", "memory", "ECC")
+                .component(Slot.RAM, "16GB DDR4", 4_500, 5, "memory", "DDR4")
+                .component(Slot.RAM, "32GB DDR4", 8_900, 8, "memory", "DDR4")
+                .component(Slot.RAM, "32GB DDR5", 11_900, 8, "memory", "DDR5")
+                .component(Slot.RAM, "64GB ECC RAM", 29_900, 15, "memory", "ECC")
+                .component(Slot.STORAGE, "512GB SSD", 3_900, 5)
+                .component(Slot.STORAGE, "1TB NVMe SSD", 7_900, 7)
+                .component(Slot.STORAGE, "2TB NVMe SSD", 14_900, 8)
+                .component(Slot.GPU, "Integrated Graphics", 0, 0)
+                .component(Slot.GPU, "NVIDIA RTX 3060", 32_900, 170)
+                .component(Slot.GPU, "NVIDIA RTX 3080", 69_900, 320)
+                .component(Slot.GPU, "NVIDIA Quadro RTX 5000", 229_900, 230)
+                .rule(CompatibilityRule.sameAttribute(Slot.CPU, Slot.RAM, "memory"))
+                .rule(CompatibilityRule.powerBudget(Slot.CPU, Slot.GPU, 100, 550))
+                .rule(CompatibilityRule.rule(Slot.CPU, Slot.GPU,
+                        (cpu, gpu) -> gpu.getWatts() > 0 || !"sTRX4".equals(cpu.getAttribute("socket"))))
+                .build();
+
+        ComputerConfigurator configurator = new ComputerConfigurator();
+        System.out.println("Gaming PC valid: " + engine.isValid(configurator.configureGamingPC()));
+        System.out.println("Workstation valid: " + engine.isValid(configurator.configureWorkstation()));
+
+        CompatibilityEngine.Result result = engine.enumerate(ForkJoinPool.commonPool(), 3);
+        System.out.println("Valid configurations: " + result.getCount());
+        for (long configuration : result.getCheapest()) {
+            System.out.printf("  $%.2f  %s%n", engine.priceCents(configuration) / 100.0, engine.toComputer(configuration));
+        }
+
+        // Larger synthetic catalog to show the enumeration scales
+        CompatibilityEngine.Builder large = new CompatibilityEngine.Builder();
+        Random random = new Random(7);
+        String[] memoryTypes = {"DDR4", "DDR5"};
+        for (int i = 0; i < 120; i++) {
+            large.component(Slot.CPU, "CPU-" + i, 10_000 + random.nextInt(100_000), 35 + random.nextInt(250),
+                    "memory", memoryTypes[random.nextInt(2)]);
+            large.component(Slot.RAM, "RAM-" + i, 2_000 + random.nextInt(40_000), 5, "memory", memoryTypes[random.nextInt(2)]);
+            large.component(Slot.GPU, "GPU-" + i, random.nextInt(200_000), random.nextInt(400));
+        }
+        for (int i = 0; i < 60; i++) {
+            large.component(Slot.STORAGE, "Storage-" + i, 2_000 + random.nextInt(30_000), 5);
+        }
+        CompatibilityEngine largeEngine = large
+                .rule(CompatibilityRule.sameAttribute(Slot.CPU, Slot.RAM, "memory"))
+                .rule(CompatibilityRule.powerBudget(Slot.CPU, Slot.GPU, 100, 650))
+                .build();
+        long started = System.nanoTime();
+        CompatibilityEngine.Result largeResult = largeEngine.enumerate(ForkJoinPool.commonPool(), 5);
+        long elapsed = System.nanoTime() - started;
+        System.out.printf("Synthetic catalog: %d valid of %d candidates in %.1f ms%n",
+                largeResult.getCount(), 120L * 120 * 60 * 120, elapsed / 1e6);
+        long[] cheapestBuilds = largeResult.getCheapest();
+        if (cheapestBuilds.length > 0) {
+            System.out.printf("  cheapest $%.2f%n", largeEngine.priceCents(cheapestBuilds[0]) / 100.0);
+        }
+    }
+}
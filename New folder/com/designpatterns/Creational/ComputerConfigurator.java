@@ -0,0 +1,31 @@
+package com.designpatterns.creational;
+
+// Director class. Presets are built once and shared; Computer is immutable,
+// so handing the same instance to every caller is safe.
+class ComputerConfigurator {
+
+    private static final Computer GAMING_PC = new Computer.Builder()
+            .cpu("Intel Core i9")
+            .ram("32GB DDR4")
+            .storage("1TB NVMe SSD")
+            .gpu("NVIDIA RTX 3080")
+            .addPeripheral("Gaming Mouse")
+            .addPeripheral("Mechanical Keyboard")
+            .build();
+
+    private static final Computer WORKSTATION = new Computer.Builder()
+            .cpu("AMD Ryzen Threadripper")
+            .ram("64GB ECC RAM")
+            .storage("2TB NVMe SSD")
+            .gpu("NVIDIA Quadro RTX 5000")
+            .addPeripheral("UPS")
+            .build();
+
+    public Computer configureGamingPC() {
+        return GAMING_PC;
+    }
+
+    public Computer configureWorkstation() {
+        return WORKSTATION;
+    }
+}
@@ -0,0 +1,13 @@
+package com.designpatterns.creational;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+interface Document {
+    void create();
+    void save();
+
+    // Writes the document to the channel: header, body and footer, with no
+    // per-document stream setup and no per-save encoding or byte[] copies
+    void save(WritableByteChannel channel) throws IOException;
+}
@@ -0,0 +1,48 @@
+package com.designpatterns.creational;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// Writes an encoded body between the template segments. With a
+// GatheringByteChannel the three segments go out in a single gathering write.
+final class DocumentChannelWriter {
+    private DocumentChannelWriter() {
+    }
+
+    static ByteBuffer encode(CharSequence body) {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    static void write(WritableByteChannel channel, DocumentTemplate template, ByteBuffer body) throws IOException {
+        writeFully(channel, new ByteBuffer[]{template.header(), body, template.footer()});
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer[] segments) throws IOException {
+        if (channel instanceof GatheringByteChannel) {
+            GatheringByteChannel gathering = (GatheringByteChannel) channel;
+            long remaining = 0;
+            for (ByteBuffer segment : segments) {
+                remaining += segment.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= gathering.write(segments);
+            }
+        } else {
+            for (ByteBuffer segment : segments) {
+                writeFully(channel, segment);
+            }
+        }
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
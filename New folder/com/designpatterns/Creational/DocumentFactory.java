@@ -0,0 +1,14 @@
+package com.designpatterns.creational;
+
+abstract class DocumentFactory {
+    public abstract Document createDocument();
+
+    // Key the factory is registered under in DocumentFactoryRegistry, e.g. "pdf"
+    public abstract String getFormat();
+
+    public void generateDocument() {
+        Document document = createDocument();
+        document.create();
+        document.save();
+    }
+}
@@ -0,0 +1,51 @@
+package com.designpatterns.creational;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+// Factories keyed by format. The built-in factories are always present; any
+// DocumentFactory providers found through ServiceLoader are added on top and
+// replace a built-in with the same format. Because DocumentFactory is
+// package-private, a provider must be a public class (e.g. a public static
+// nested class) in this package with a public no-arg constructor, listed in
+// META-INF/services/com.designpatterns.creational.DocumentFactory.
+// Discovery runs once, on first use, and the result is cached.
+final class DocumentFactoryRegistry {
+
+    private DocumentFactoryRegistry() {
+    }
+
+    // Initialised on first access to the registry (lazy holder idiom)
+    private static final class Loaded {
+
+        static final Map<String, DocumentFactory> FACTORIES = load();
+
+        private static Map<String, DocumentFactory> load() {
+            Map<String, DocumentFactory> factories = new LinkedHashMap<>();
+            for (DocumentFactory factory : new DocumentFactory[]{
+                new PdfDocumentFactory(), new WordDocumentFactory(), new HtmlDocumentFactory()}) {
+                factories.put(factory.getFormat(), factory);
+            }
+            for (DocumentFactory factory : ServiceLoader.load(DocumentFactory.class)) {
+                factories.put(factory.getFormat().toLowerCase(Locale.ROOT), factory);
+            }
+            return Collections.unmodifiableMap(factories);
+        }
+    }
+
+    public static DocumentFactory get(String format) {
+        DocumentFactory factory = Loaded.FACTORIES.get(format.toLowerCase(Locale.ROOT));
+        if (factory == null) {
+            throw new IllegalArgumentException("No document factory for format: " + format);
+        }
+        return factory;
+    }
+
+    public static Set<String> formats() {
+        return Loaded.FACTORIES.keySet();
+    }
+}
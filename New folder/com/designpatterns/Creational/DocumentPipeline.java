@@ -0,0 +1,361 @@
+package com.designpatterns.creational;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Generates large batches of documents in three stages: the calling thread looks
+// up the factory and instantiates each document, a pool of create workers runs
+// create(), and a pool of save workers writes each document to the Sink with
+// save(WritableByteChannel). Stages are linked by bounded queues, so a slow stage
+// blocks the one feeding it instead of letting work pile up in memory. Every
+// worker gets its own thread from the pipeline's ThreadFactory for the length of
+// a run: the stages wait on each other, so they cannot share a smaller pool.
+// If any stage stops abnormally (the caller is interrupted, a format is unknown,
+// a worker dies from an Error) the run is cancelled: every blocked hand-off gives
+// up within POLL_MILLIS, so no worker is left waiting for an END that never comes.
+class DocumentPipeline {
+
+    private static final Job END = new Job(null, null);
+    private static final long POLL_MILLIS = 10;
+
+    private final ThreadFactory threadFactory;
+    private final int createWorkers;
+    private final int saveWorkers;
+    private final int queueCapacity;
+    private final Sink sink;
+
+    public DocumentPipeline(int createWorkers, int saveWorkers, int queueCapacity, Sink sink) {
+        this(task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        }, createWorkers, saveWorkers, queueCapacity, sink);
+    }
+
+    public DocumentPipeline(ThreadFactory threadFactory, int createWorkers, int saveWorkers, int queueCapacity, Sink sink) {
+        if (createWorkers <= 0 || saveWorkers <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Worker counts and queue capacity must be positive");
+        }
+        this.threadFactory = threadFactory;
+        this.createWorkers = createWorkers;
+        this.saveWorkers = saveWorkers;
+        this.queueCapacity = queueCapacity;
+        this.sink = sink;
+    }
+
+    // Where the save stage writes. Each save worker opens its own channel when it
+    // starts and closes it when it stops, so a channel is only used by one thread.
+    interface Sink {
+        WritableByteChannel open() throws IOException;
+
+        // Drops every byte; measures the save path without any I/O behind it
+        static Sink discard() {
+            return DiscardingChannel::new;
+        }
+    }
+
+    private static final class DiscardingChannel implements WritableByteChannel {
+        private boolean open = true;
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+            int written = source.remaining();
+            source.position(source.limit());
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+
+    // Generates one document per format name; the iterator can be lazily produced
+    public Report generateDocuments(Iterator<String> formats) throws InterruptedException {
+        BlockingQueue<Job> created = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Job> saved = new ArrayBlockingQueue<>(queueCapacity);
+        Queue<Map<String, FormatStats>> savedByWorker = new ConcurrentLinkedQueue<>();
+        AtomicInteger liveCreateWorkers = new AtomicInteger(createWorkers);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicReference<Throwable> crash = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>();
+
+        Runnable createWorker = () -> {
+            boolean finished = false;
+            try {
+                for (Job job = take(created, cancelled); job != END; job = take(created, cancelled)) {
+                    try {
+                        job.document.create();
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                        continue;
+                    }
+                    if (!put(saved, job, cancelled)) {
+                        break;
+                    }
+                }
+                finished = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (!finished) {
+                    cancelled.set(true);
+                }
+                // The last create worker out tells every save worker to stop
+                if (liveCreateWorkers.decrementAndGet() == 0) {
+                    endAll(saved, saveWorkers, cancelled);
+                }
+            }
+        };
+        Runnable saveWorker = () -> {
+            // Per-worker stats, merged after the run, so saving never contends on a counter
+            Map<String, FormatStats> stats = new HashMap<>();
+            savedByWorker.add(stats);
+            boolean finished = false;
+            try (WritableByteChannel channel = sink.open()) {
+                for (Job job = take(saved, cancelled); job != END; job = take(saved, cancelled)) {
+                    try {
+                        job.document.save(channel);
+                        stats.computeIfAbsent(job.format, f -> new FormatStats()).record(System.nanoTime());
+                    } catch (IOException | RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+                finished = true;
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (!finished) {
+                    cancelled.set(true);
+                }
+            }
+        };
+
+        long started = System.nanoTime();
+        boolean finished = false;
+        try {
+            for (int i = 0; i < createWorkers; i++) {
+                workers.add(start(createWorker, "create-" + i, crash));
+            }
+            for (int i = 0; i < saveWorkers; i++) {
+                workers.add(start(saveWorker, "save-" + i, crash));
+            }
+            while (formats.hasNext()) {
+                String format = formats.next().toLowerCase(Locale.ROOT);
+                if (!put(created, new Job(format, DocumentFactoryRegistry.get(format).createDocument()), cancelled)) {
+                    break;
+                }
+            }
+            finished = true;
+        } finally {
+            if (!finished) {
+                cancelled.set(true);
+            }
+            endAll(created, createWorkers, cancelled);
+            joinAll(workers);
+        }
+        long elapsed = System.nanoTime() - started;
+        Throwable crashed = crash.get();
+        if (crashed instanceof Error) {
+            throw (Error) crashed;
+        } else if (crashed != null) {
+            throw new IllegalStateException("Pipeline worker failed", crashed);
+        }
+
+        Map<String, FormatStats> stats = new TreeMap<>();
+        for (Map<String, FormatStats> workerStats : savedByWorker) {
+            workerStats.forEach((format, formatStats) -> stats.computeIfAbsent(format, f -> new FormatStats()).merge(formatStats));
+        }
+        return new Report(stats, elapsed, failure.get());
+    }
+
+    // Anything a worker does not handle itself ends the run: the first such
+    // throwable is kept and rethrown by generateDocuments
+    private Thread start(Runnable worker, String name, AtomicReference<Throwable> crash) {
+        Thread thread = threadFactory.newThread(() -> {
+            try {
+                worker.run();
+            } catch (Throwable e) {
+                crash.compareAndSet(null, e);
+            }
+        });
+        if (thread == null) {
+            throw new IllegalStateException("Thread factory refused pipeline worker " + name);
+        }
+        thread.setName("document-pipeline-" + name);
+        thread.start();
+        return thread;
+    }
+
+    // Joins every worker; an interrupt is held until they have all stopped, which
+    // the cancelled run guarantees within POLL_MILLIS, and then re-asserted
+    private static void joinAll(List<Thread> workers) {
+        boolean interrupted = false;
+        for (Thread worker : workers) {
+            while (true) {
+                try {
+                    worker.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Hands the job on, waiting for room; gives up and returns false once the run is cancelled
+    private static boolean put(BlockingQueue<Job> queue, Job job, AtomicBoolean cancelled) throws InterruptedException {
+        while (!queue.offer(job, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (cancelled.get()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Waits for the next job; returns END once the run is cancelled
+    private static Job take(BlockingQueue<Job> queue, AtomicBoolean cancelled) throws InterruptedException {
+        Job job;
+        while ((job = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+            if (cancelled.get()) {
+                return END;
+            }
+        }
+        return job;
+    }
+
+    // Queues one END per consumer. Runs during shutdown, so an interrupt is
+    // held until every END is queued (or the run is cancelled, after which the
+    // consumers stop by themselves) and then re-asserted.
+    private static void endAll(BlockingQueue<Job> queue, int consumers, AtomicBoolean cancelled) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            for (int sent = 0; sent < consumers && !cancelled.get(); ) {
+                try {
+                    if (queue.offer(END, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        sent++;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Job {
+
+        final String format;
+        final Document document;
+
+        Job(String format, Document document) {
+            this.format = format;
+            this.document = document;
+        }
+    }
+
+    // Saved documents of one format and when the first and last were saved
+    private static final class FormatStats {
+
+        long count;
+        long firstNanos = Long.MAX_VALUE;
+        long lastNanos = Long.MIN_VALUE;
+
+        void record(long nanos) {
+            count++;
+            firstNanos = Math.min(firstNanos, nanos);
+            lastNanos = Math.max(lastNanos, nanos);
+        }
+
+        void merge(FormatStats other) {
+            count += other.count;
+            firstNanos = Math.min(firstNanos, other.firstNanos);
+            lastNanos = Math.max(lastNanos, other.lastNanos);
+        }
+    }
+
+    static class Report {
+
+        private final Map<String, FormatStats> statsByFormat;
+        private final long elapsedNanos;
+        private final Throwable firstFailure;
+
+        private Report(Map<String, FormatStats> statsByFormat, long elapsedNanos, Throwable firstFailure) {
+            this.statsByFormat = statsByFormat;
+            this.elapsedNanos = elapsedNanos;
+            this.firstFailure = firstFailure;
+        }
+
+        public long getCompleted(String format) {
+            FormatStats stats = statsByFormat.get(format);
+            return stats == null ? 0 : stats.count;
+        }
+
+        // Documents of this format saved per second once the pipeline is full:
+        // measured between the first and last save, so the time to fill the
+        // stages is left out. With fewer than two saves it falls back to the whole run.
+        public double getThroughput(String format) {
+            FormatStats stats = statsByFormat.get(format);
+            if (stats == null) {
+                return 0;
+            }
+            long span = stats.lastNanos - stats.firstNanos;
+            if (stats.count < 2 || span <= 0) {
+                return elapsedNanos == 0 ? 0 : stats.count * 1e9 / elapsedNanos;
+            }
+            return (stats.count - 1) * 1e9 / span;
+        }
+
+        // First exception thrown by create() or save(), or null if every document succeeded
+        public Throwable getFirstFailure() {
+            return firstFailure;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format("Pipeline finished in %.1f ms", elapsedNanos / 1e6));
+            for (String format : statsByFormat.keySet()) {
+                text.append(String.format("%n  %-5s %8d documents  %10.0f docs/s", format, getCompleted(format), getThroughput(format)));
+            }
+            if (firstFailure != null) {
+                text.append(System.lineSeparator()).append("  first failure: ").append(firstFailure);
+            }
+            return text.toString();
+        }
+    }
+}
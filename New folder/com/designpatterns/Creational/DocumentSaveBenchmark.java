@@ -0,0 +1,91 @@
+// Compares the channel-based Document.save(WritableByteChannel) path against a naive implementation that writes header, body and
+// footer as freshly encoded byte arrays to a FileOutputStream. Every path appends all documents to one file, so the comparison is
+// of the write path alone, not of how many files are opened.
+
+// to run this file run below command
+// javac com\designpatterns\creational\DocumentSaveBenchmark.java
+// java com.designpatterns.creational.DocumentSaveBenchmark [documents] [body-chars]
+
+package com.designpatterns.creational;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public class DocumentSaveBenchmark {
+
+    private static final String HEADER = "<!DOCTYPE html>\n<html><body>\n";
+    private static final String FOOTER = "\n</body></html>\n";
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int documents = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int bodyChars = args.length > 1 ? Integer.parseInt(args[1]) : 4_096;
+        char[] text = new char[bodyChars];
+        Arrays.fill(text, 'x');
+        String body = new String(text);
+
+        Path directory = Files.createTempDirectory("document-save");
+        Path templateFile = directory.resolve("template.html");
+        Files.writeString(templateFile, HEADER + FOOTER, StandardCharsets.UTF_8);
+        try (DocumentTemplate fileTemplate = DocumentTemplate.ofFile(templateFile, HEADER.getBytes(StandardCharsets.UTF_8).length)) {
+            HtmlDocument inMemory = new HtmlDocument(HtmlDocument.TEMPLATE, body);
+            HtmlDocument fromFile = new HtmlDocument(fileTemplate, body);
+
+            System.out.printf("%d documents, %d-character bodies, best of %d rounds%n", documents, bodyChars, ROUNDS);
+            report("naive FileOutputStream, byte[] writes", best(() -> naive(directory.resolve("naive.html"), documents, body)), documents);
+            report("channel, gathering write", best(() -> channel(directory.resolve("gather.html"), documents, inMemory)), documents);
+            report("channel, mapped file template", best(() -> channel(directory.resolve("mapped.html"), documents, fromFile)), documents);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    // Every document appended to one open stream, encoding and writing its three parts separately
+    private static void naive(Path file, int documents, String body) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file.toFile())) {
+            for (int i = 0; i < documents; i++) {
+                out.write(HEADER.getBytes(StandardCharsets.UTF_8));
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+                out.write(FOOTER.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    // Every document appended to one open channel
+    private static void channel(Path file, int documents, Document document) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < documents; i++) {
+                document.save(channel);
+            }
+        }
+    }
+
+    private interface Run {
+        void run() throws IOException;
+    }
+
+    private static long best(Run run) throws IOException {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return best;
+    }
+
+    private static void report(String name, long nanos, int documents) {
+        System.out.printf("  %-36s %9.1f ms  %10.0f docs/s%n", name, nanos / 1e6, documents * 1e9 / nanos);
+    }
+}
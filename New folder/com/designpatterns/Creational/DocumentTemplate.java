@@ -0,0 +1,62 @@
+package com.designpatterns.creational;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Static header and footer around a document body, held in read-only direct
+// buffers that every save shares through duplicate(). In-memory templates copy
+// the text into the buffers once; file templates map the two regions of the
+// file, so the bytes go from the page cache to the target without entering the heap.
+final class DocumentTemplate implements Closeable {
+    private final ByteBuffer header;
+    private final ByteBuffer footer;
+
+    private DocumentTemplate(ByteBuffer header, ByteBuffer footer) {
+        this.header = header;
+        this.footer = footer;
+    }
+
+    public static DocumentTemplate of(String header, String footer) {
+        return new DocumentTemplate(direct(header), direct(footer));
+    }
+
+    // The file holds the header in its first headerLength bytes and the footer after it
+    public static DocumentTemplate ofFile(Path path, long headerLength) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = file.size();
+            if (headerLength < 0 || headerLength > size) {
+                throw new IllegalArgumentException("Header length " + headerLength + " outside template of " + size + " bytes");
+            }
+            return new DocumentTemplate(file.map(FileChannel.MapMode.READ_ONLY, 0, headerLength),
+                    file.map(FileChannel.MapMode.READ_ONLY, headerLength, size - headerLength));
+        }
+    }
+
+    ByteBuffer header() {
+        return header.duplicate();
+    }
+
+    ByteBuffer footer() {
+        return footer.duplicate();
+    }
+
+    private static ByteBuffer direct(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    // The file channel is closed once the regions are mapped, and a mapping is
+    // only released when its buffer is garbage-collected, so there is nothing
+    // left to release here; templates stay Closeable so callers need not care
+    // which kind they hold.
+    @Override
+    public void close() {
+    }
+}
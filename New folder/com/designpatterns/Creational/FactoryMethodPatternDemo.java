@@ -1,95 +1,28 @@
 // This code demonstrates the Factory Method design pattern. It defines a common interface (Document) for different types of documents (PDF, Word, HTML),
 // while providing separate factory classes (PdfDocumentFactory, WordDocumentFactory, HtmlDocumentFactory) to create these specific documents.
 // The abstract DocumentFactory class defines the framework for generating documents, and each concrete factory class implements the creation of a specific document type.
-// In the FactoryMethodPatternDemo, the program cycles through different factories to create and save documents in different formats.
+// In the FactoryMethodPatternDemo, the program looks factories up by format in DocumentFactoryRegistry to create and save documents in different formats,
+// and then pushes a batch through DocumentPipeline, which runs creation and saving as separate bounded stages.
+// Documents can also be written to any WritableByteChannel: the body is encoded once into a direct buffer and sent with the template's header and
+// footer in one gathering write; a template kept in a file is memory-mapped rather than read onto the heap.
 
 
 package com.designpatterns.creational;
 
-interface Document {
-    void create();
-    void save();
-}
-
-class PdfDocument implements Document {
-    @Override
-    public void create() {
-        System.out.println("Creating PDF document");
-    }
-
-    @Override
-    public void save() {
-        System.out.println("Saving PDF document");
-    }
-}
-
-class WordDocument implements Document {
-    @Override
-    public void create() {
-        System.out.println("Creating Word document");
-    }
-
-    @Override
-    public void save() {
-        System.out.println("Saving Word document");
-    }
-}
-
-class HtmlDocument implements Document {
-    @Override
-    public void create() {
-        System.out.println("Creating HTML document");
-    }
-
-    @Override
-    public void save() {
-        System.out.println("Saving HTML document");
-    }
-}
-
-abstract class DocumentFactory {
-    public abstract Document createDocument();
-
-    public void generateDocument() {
-        Document document = createDocument();
-        document.create();
-        document.save();
-    }
-}
-
-class PdfDocumentFactory extends DocumentFactory {
-    @Override
-    public Document createDocument() {
-        return new PdfDocument();
-    }
-}
-
-class WordDocumentFactory extends DocumentFactory {
-    @Override
-    public Document createDocument() {
-        return new WordDocument();
-    }
-}
-
-class HtmlDocumentFactory extends DocumentFactory {
-    @Override
-    public Document createDocument() {
-        return new HtmlDocument();
-    }
-}
+import java.util.List;
 
 public class FactoryMethodPatternDemo {
-    public static void main(String[] args) {
-        DocumentFactory[] factories = {
-            new PdfDocumentFactory(),
-            new WordDocumentFactory(),
-            new HtmlDocumentFactory()
-        };
-
-        for (DocumentFactory factory : factories) {
+    public static void main(String[] args) throws InterruptedException {
+        for (String format : DocumentFactoryRegistry.formats()) {
+            DocumentFactory factory = DocumentFactoryRegistry.get(format);
             System.out.println("Using " + factory.getClass().getSimpleName());
             factory.generateDocument();
             System.out.println("------------------------");
         }
+
+        // Batch generation through the staged pipeline
+        DocumentPipeline pipeline = new DocumentPipeline(2, 2, 16, DocumentPipeline.Sink.discard());
+        List<String> batch = List.of("pdf", "word", "html", "pdf", "html", "pdf");
+        System.out.println(pipeline.generateDocuments(batch.iterator()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.designpatterns.creational;
+
+class HtmlDocument extends TemplatedDocument {
+    static final DocumentTemplate TEMPLATE = DocumentTemplate.of("<!DOCTYPE html>\n<html><body>\n", "\n</body></html>\n");
+
+    public HtmlDocument() {
+        this(TEMPLATE, "HTML document");
+    }
+
+    public HtmlDocument(DocumentTemplate template, CharSequence body) {
+        super(template, body);
+    }
+
+    @Override
+    public void create() {
+        System.out.println("Creating HTML document");
+    }
+
+    @Override
+    public void save() {
+        System.out.println("Saving HTML document");
+    }
+}
@@ -0,0 +1,13 @@
+package com.designpatterns.creational;
+
+class HtmlDocumentFactory extends DocumentFactory {
+    @Override
+    public Document createDocument() {
+        return new HtmlDocument();
+    }
+
+    @Override
+    public String getFormat() {
+        return "html";
+    }
+}
@@ -0,0 +1,23 @@
+package com.designpatterns.creational;
+
+class PdfDocument extends TemplatedDocument {
+    static final DocumentTemplate TEMPLATE = DocumentTemplate.of("%PDF-1.4\n", "\n%%EOF\n");
+
+    public PdfDocument() {
+        this(TEMPLATE, "PDF document");
+    }
+
+    public PdfDocument(DocumentTemplate template, CharSequence body) {
+        super(template, body);
+    }
+
+    @Override
+    public void create() {
+        System.out.println("Creating PDF document");
+    }
+
+    @Override
+    public void save() {
+        System.out.println("Saving PDF document");
+    }
+}
@@ -0,0 +1,13 @@
+package com.designpatterns.creational;
+
+class PdfDocumentFactory extends DocumentFactory {
+    @Override
+    public Document createDocument() {
+        return new PdfDocument();
+    }
+
+    @Override
+    public String getFormat() {
+        return "pdf";
+    }
+}
@@ -0,0 +1,36 @@
+package com.designpatterns.creational;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+// Shared channel output for the built-in documents. Each document is a fixed
+// header and footer from its DocumentTemplate around a text body. The body is
+// encoded once, on the first channel save after it was set, into a read-only
+// direct buffer that later saves write from through duplicate(); a body that is
+// a mutable CharSequence is therefore captured as it was at that first save.
+abstract class TemplatedDocument implements Document {
+    private final DocumentTemplate template;
+    private CharSequence body;
+    private volatile ByteBuffer encodedBody;
+
+    protected TemplatedDocument(DocumentTemplate template, CharSequence body) {
+        this.template = template;
+        this.body = body;
+    }
+
+    public void setBody(CharSequence body) {
+        this.body = body;
+        this.encodedBody = null;
+    }
+
+    @Override
+    public void save(WritableByteChannel channel) throws IOException {
+        ByteBuffer encoded = encodedBody;
+        if (encoded == null) {
+            encoded = DocumentChannelWriter.encode(body);
+            encodedBody = encoded;
+        }
+        DocumentChannelWriter.write(channel, template, encoded.duplicate());
+    }
+}
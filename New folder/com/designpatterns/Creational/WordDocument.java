@@ -0,0 +1,23 @@
+package com.designpatterns.creational;
+
+class WordDocument extends TemplatedDocument {
+    static final DocumentTemplate TEMPLATE = DocumentTemplate.of("{\\rtf1\\ansi\n", "\n}\n");
+
+    public WordDocument() {
+        this(TEMPLATE, "Word document");
+    }
+
+    public WordDocument(DocumentTemplate template, CharSequence body) {
+        super(template, body);
+    }
+
+    @Override
+    public void create() {
+        System.out.println("Creating Word document");
+    }
+
+    @Override
+    public void save() {
+        System.out.println("Saving Word document");
+    }
+}
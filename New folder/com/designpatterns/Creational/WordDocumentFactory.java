@@ -0,0 +1,13 @@
+package com.designpatterns.creational;
+
+class WordDocumentFactory extends DocumentFactory {
+    @Override
+    public Document createDocument() {
+        return new WordDocument();
+    }
+
+    @Override
+    public String getFormat() {
+        return "word";
+    }
+}
@@ -0,0 +1,316 @@
+package com.designpatterns.structural;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+// Writes the adapter class file. All conversions live in the bound handles, so
+// every method has the same shape and no branches (hence no stack map frames):
+//
+//   final class <Adapter> implements T {
+//       private final Object legacy;
+//       <Adapter>(Object legacy) { this.legacy = legacy; }
+//       public R m(A a) { return (R) HANDLE_i.invokeExact(legacy, a); }
+//   }
+//
+// HANDLE_i is not a field but a dynamic constant resolved by
+// MethodHandles.classDataAt(i), which the JIT treats as a true constant.
+final class AdapterClassWriter {
+    private static final int CLASS_VERSION = 61; // Java 17
+    private static final String OBJECT = "java/lang/Object";
+    private static final String OBJECT_DESCRIPTOR = "Ljava/lang/Object;";
+    private static final String LEGACY_FIELD = "legacy";
+
+    private final String className;
+    private final Class<?> target;
+    private final ConstantPool pool = new ConstantPool();
+    private final ByteArrayOutputStream bootstrapBytes = new ByteArrayOutputStream();
+    private int bootstrapCount;
+
+    AdapterClassWriter(Class<?> host, Class<?> target) {
+        String hostPackage = host.getPackageName();
+        String simpleName = target.getSimpleName() + "Adapter";
+        this.className = hostPackage.isEmpty() ? simpleName : hostPackage.replace('.', '/') + "/" + simpleName;
+        this.target = target;
+    }
+
+    // The i-th method calls the i-th handle of the class data
+    byte[] write(Iterable<Method> methods) {
+        try {
+            ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+            DataOutputStream methodOut = new DataOutputStream(methodBytes);
+            writeConstructor(methodOut);
+            int methodCount = 1;
+            for (Method method : methods) {
+                writeForwarder(methodOut, method, methodCount - 1);
+                methodCount++;
+            }
+
+            ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(classBytes);
+            int thisClass = pool.classRef(className);
+            int superClass = pool.classRef(OBJECT);
+            int interfaceClass = pool.classRef(target.getName().replace('.', '/'));
+            int legacyName = pool.utf8(LEGACY_FIELD);
+            int legacyDescriptor = pool.utf8(OBJECT_DESCRIPTOR);
+            int bootstrapAttribute = pool.utf8("BootstrapMethods");
+
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_VERSION);
+            pool.writeTo(out);
+            out.writeShort(Modifier.FINAL | 0x0020); // ACC_SUPER
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(interfaceClass);
+
+            out.writeShort(1);
+            out.writeShort(Modifier.PRIVATE | Modifier.FINAL);
+            out.writeShort(legacyName);
+            out.writeShort(legacyDescriptor);
+            out.writeShort(0);
+
+            out.writeShort(methodCount);
+            methodBytes.writeTo(out);
+
+            out.writeShort(1); // class attributes
+            out.writeShort(bootstrapAttribute);
+            out.writeInt(2 + bootstrapBytes.size());
+            out.writeShort(bootstrapCount);
+            bootstrapBytes.writeTo(out);
+            return classBytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeConstructor(DataOutputStream out) throws IOException {
+        Code code = new Code();
+        code.op(0x2a); // aload_0
+        code.op(0xb7).u2(pool.methodRef(OBJECT, "<init>", "()V")); // invokespecial
+        code.op(0x2a); // aload_0
+        code.op(0x2b); // aload_1
+        code.op(0xb5).u2(pool.fieldRef(className, LEGACY_FIELD, OBJECT_DESCRIPTOR)); // putfield
+        code.op(0xb1); // return
+        writeMethod(out, 0, "<init>", "(" + OBJECT_DESCRIPTOR + ")V", code, 2, 2);
+    }
+
+    private void writeForwarder(DataOutputStream out, Method method, int handleIndex) throws IOException {
+        Class<?>[] parameters = method.getParameterTypes();
+        Class<?> returned = method.getReturnType();
+        Code code = new Code();
+        code.op(0x13).u2(handleConstant(handleIndex)); // ldc_w
+        code.op(0x2a); // aload_0
+        code.op(0xb4).u2(pool.fieldRef(className, LEGACY_FIELD, OBJECT_DESCRIPTOR)); // getfield
+        int slot = 1;
+        for (Class<?> parameter : parameters) {
+            load(code, parameter, slot);
+            slot += slots(parameter);
+        }
+        String invokedType = MethodType.methodType(returned, Object.class, parameters).toMethodDescriptorString();
+        code.op(0xb6).u2(pool.methodRef("java/lang/invoke/MethodHandle", "invokeExact", invokedType)); // invokevirtual
+        code.op(returnOpcode(returned));
+        int maxStack = Math.max(2 + slot - 1, slots(returned));
+        String descriptor = MethodType.methodType(returned, parameters).toMethodDescriptorString();
+        writeMethod(out, Modifier.PUBLIC, method.getName(), descriptor, code, maxStack, slot);
+    }
+
+    // CONSTANT_Dynamic "_" of type MethodHandle, bootstrapped by
+    // MethodHandles.classDataAt(lookup, "_", MethodHandle.class, index)
+    private int handleConstant(int index) throws IOException {
+        int bootstrap = pool.methodHandle(6, pool.methodRef("java/lang/invoke/MethodHandles", "classDataAt",
+                "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;I)Ljava/lang/Object;")); // REF_invokeStatic
+        int argument = pool.integer(index);
+        DataOutputStream out = new DataOutputStream(bootstrapBytes);
+        out.writeShort(bootstrap);
+        out.writeShort(1);
+        out.writeShort(argument);
+        return pool.dynamic(bootstrapCount++, "_", "Ljava/lang/invoke/MethodHandle;");
+    }
+
+    private void writeMethod(DataOutputStream out, int access, String name, String descriptor, Code code,
+                             int maxStack, int maxLocals) throws IOException {
+        out.writeShort(access);
+        out.writeShort(pool.utf8(name));
+        out.writeShort(pool.utf8(descriptor));
+        out.writeShort(1);
+        out.writeShort(pool.utf8("Code"));
+        byte[] bytes = code.toByteArray();
+        out.writeInt(12 + bytes.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // code attributes
+    }
+
+    private static void load(Code code, Class<?> type, int slot) {
+        if (slot > 255) {
+            throw new IllegalArgumentException("Too many arguments");
+        }
+        int opcode;
+        if (!type.isPrimitive()) {
+            opcode = 0x19; // aload
+        } else if (type == long.class) {
+            opcode = 0x16;
+        } else if (type == float.class) {
+            opcode = 0x17;
+        } else if (type == double.class) {
+            opcode = 0x18;
+        } else {
+            opcode = 0x15; // iload
+        }
+        code.op(opcode).u1(slot);
+    }
+
+    private static int returnOpcode(Class<?> type) {
+        if (type == void.class) {
+            return 0xb1;
+        } else if (!type.isPrimitive()) {
+            return 0xb0; // areturn
+        } else if (type == long.class) {
+            return 0xad;
+        } else if (type == float.class) {
+            return 0xae;
+        } else if (type == double.class) {
+            return 0xaf;
+        }
+        return 0xac; // ireturn
+    }
+
+    private static int slots(Class<?> type) {
+        if (type == void.class) {
+            return 0;
+        }
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    private static final class Code {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Code op(int opcode) {
+            bytes.write(opcode);
+            return this;
+        }
+
+        Code u1(int value) {
+            bytes.write(value);
+            return this;
+        }
+
+        Code u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    private static final class ConstantPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+            return entry("U" + value, () -> {
+                out.writeByte(1);
+                out.writeUTF(value);
+            });
+        }
+
+        int integer(int value) {
+            return entry("I" + value, () -> {
+                out.writeByte(3);
+                out.writeInt(value);
+            });
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return entry("C" + internalName, () -> {
+                out.writeByte(7);
+                out.writeShort(name);
+            });
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return memberRef(9, owner, name, descriptor);
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            return memberRef(10, owner, name, descriptor);
+        }
+
+        int methodHandle(int kind, int reference) {
+            return entry("H" + kind + ":" + reference, () -> {
+                out.writeByte(15);
+                out.writeByte(kind);
+                out.writeShort(reference);
+            });
+        }
+
+        int dynamic(int bootstrapIndex, String name, String descriptor) {
+            int nameAndType = nameAndType(name, descriptor);
+            return entry("D" + bootstrapIndex, () -> {
+                out.writeByte(17);
+                out.writeShort(bootstrapIndex);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        private int nameAndType(String name, String descriptor) {
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            return entry("N" + name + " " + descriptor, () -> {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) {
+            int ownerClass = classRef(owner);
+            int nameAndType = nameAndType(name, descriptor);
+            return entry(tag + owner + "." + name + descriptor, () -> {
+                out.writeByte(tag);
+                out.writeShort(ownerClass);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+
+        private int entry(String key, Entry writer) {
+            Integer index = indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            try {
+                writer.write();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            indexes.put(key, count);
+            return count++;
+        }
+
+        private interface Entry {
+            void write() throws IOException;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.designpatterns.structural;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Built once per (interface, legacy class, mapping); adapt() then only
+// allocates an instance of the generated class. Legacy methods are resolved
+// through the lookup passed to builder(), so bind() fails straight away for a
+// method that lookup cannot call (e.g. a package-private or protected method
+// of a superclass in another package) instead of the adapter failing on its
+// first call. The lookup must have full privilege access (MethodHandles.lookup()
+// in the caller), because the adapter is defined as a hidden class in its package.
+//
+// Every abstract interface method must be bound, and methods are matched by
+// name and arity, so overloaded names are rejected as ambiguous. Without a
+// converter an argument is converted as a Java cast would: double -> float
+// narrows, as in PaymentSystemAdapter, and references are cast. equals,
+// hashCode and toString are Object's; default methods run as declared.
+final class AdapterFactory<T, L> {
+    private final Class<T> target;
+    private final MethodHandle constructor;
+
+    private AdapterFactory(Class<T> target, MethodHandle constructor) {
+        this.target = target;
+        this.constructor = constructor;
+    }
+
+    public static <T, L> Builder<T, L> builder(MethodHandles.Lookup lookup, Class<T> target, Class<L> legacy) {
+        return new Builder<>(lookup, target, legacy);
+    }
+
+    public T adapt(L legacy) {
+        Objects.requireNonNull(legacy, "legacy");
+        try {
+            return target.cast((Object) constructor.invokeExact((Object) legacy));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static final class Builder<T, L> {
+        private final MethodHandles.Lookup lookup;
+        private final Class<T> target;
+        private final Class<L> legacy;
+        private final Map<String, MethodHandle> bindings = new LinkedHashMap<>();
+
+        private Builder(MethodHandles.Lookup lookup, Class<T> target, Class<L> legacy) {
+            if (!target.isInterface()) {
+                throw new IllegalArgumentException(target.getName() + " is not an interface");
+            }
+            if (!lookup.hasFullPrivilegeAccess()) {
+                throw new IllegalArgumentException("Adapters are defined through a full-privilege lookup, not " + lookup);
+            }
+            if (!Modifier.isPublic(target.getModifiers()) && !target.getPackageName().equals(lookup.lookupClass().getPackageName())) {
+                throw new IllegalArgumentException(target.getName() + " is not accessible from " + lookup.lookupClass().getName());
+            }
+            this.lookup = lookup;
+            this.target = target;
+            this.legacy = legacy;
+        }
+
+        // converters[i] turns interface argument i into legacy argument i; a
+        // null entry (or no entries) means the default conversion
+        public Builder<T, L> bind(String interfaceMethod, String legacyMethod, MethodHandle... converters) {
+            Method from = uniqueMethod(abstractMethods(), interfaceMethod, -1, target);
+            Method to = uniqueMethod(instanceMethods(), legacyMethod, from.getParameterCount(), legacy);
+            if (converters.length > from.getParameterCount()) {
+                throw new IllegalArgumentException(interfaceMethod + " takes " + from.getParameterCount() + " arguments");
+            }
+            MethodHandle handle;
+            try {
+                handle = lookup.unreflect(to);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(legacy.getName() + "." + legacyMethod + " is not accessible from "
+                        + lookup.lookupClass().getName(), e);
+            }
+            MethodHandle[] filters = new MethodHandle[from.getParameterCount()];
+            for (int i = 0; i < converters.length; i++) {
+                if (converters[i] != null) {
+                    filters[i] = converters[i].asType(MethodType.methodType(to.getParameterTypes()[i], from.getParameterTypes()[i]));
+                }
+            }
+            // (Object legacy, interface arguments...) -> interface return type,
+            // the exact type the generated method invokes
+            handle = MethodHandles.filterArguments(handle, 1, filters);
+            handle = MethodHandles.explicitCastArguments(handle,
+                    MethodType.methodType(from.getReturnType(), legacy, from.getParameterTypes()));
+            handle = handle.asType(handle.type().changeParameterType(0, Object.class));
+            if (bindings.putIfAbsent(interfaceMethod, handle) != null) {
+                throw new IllegalArgumentException(interfaceMethod + " is already bound");
+            }
+            return this;
+        }
+
+        public AdapterFactory<T, L> build() {
+            Map<String, Method> methods = new LinkedHashMap<>();
+            List<MethodHandle> handles = new ArrayList<>();
+            for (Method method : abstractMethods()) {
+                MethodHandle handle = bindings.get(method.getName());
+                if (handle == null) {
+                    throw new IllegalStateException("No binding for " + method.getName());
+                }
+                // An abstract method inherited from two superinterfaces is implemented once
+                if (methods.putIfAbsent(method.getName() + MethodType.methodType(method.getReturnType(), method.getParameterTypes()), method) == null) {
+                    handles.add(handle);
+                }
+            }
+            byte[] bytes = new AdapterClassWriter(lookup.lookupClass(), target).write(methods.values());
+            try {
+                MethodHandles.Lookup adapterLookup = lookup.defineHiddenClassWithClassData(bytes, List.copyOf(handles), true);
+                MethodHandle constructor = adapterLookup.findConstructor(adapterLookup.lookupClass(),
+                        MethodType.methodType(void.class, Object.class)).asType(MethodType.methodType(Object.class, Object.class));
+                return new AdapterFactory<>(target, constructor);
+            } catch (IllegalAccessException | NoSuchMethodException e) {
+                throw new IllegalStateException("Could not define adapter for " + target.getName(), e);
+            }
+        }
+
+        private List<Method> abstractMethods() {
+            List<Method> methods = new ArrayList<>();
+            for (Method method : target.getMethods()) {
+                if (Modifier.isAbstract(method.getModifiers())) {
+                    methods.add(method);
+                }
+            }
+            return methods;
+        }
+
+        // Candidates only; whether the lookup may call one is checked in bind()
+        private List<Method> instanceMethods() {
+            Map<String, Method> bySignature = new HashMap<>();
+            for (Class<?> type = legacy; type != null; type = type.getSuperclass()) {
+                for (Method method : type.getDeclaredMethods()) {
+                    if (!Modifier.isStatic(method.getModifiers()) && !Modifier.isPrivate(method.getModifiers())) {
+                        bySignature.putIfAbsent(method.getName() + MethodType.methodType(void.class, method.getParameterTypes()), method);
+                    }
+                }
+            }
+            for (Method method : legacy.getMethods()) {
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    bySignature.putIfAbsent(method.getName() + MethodType.methodType(void.class, method.getParameterTypes()), method);
+                }
+            }
+            return new ArrayList<>(bySignature.values());
+        }
+
+        private static Method uniqueMethod(List<Method> methods, String name, int arity, Class<?> owner) {
+            Method found = null;
+            for (Method method : methods) {
+                if (method.getName().equals(name) && (arity < 0 || method.getParameterCount() == arity)) {
+                    if (found != null) {
+                        throw new IllegalArgumentException(owner.getName() + "." + name + " is overloaded");
+                    }
+                    found = method;
+                }
+            }
+            if (found == null) {
+                throw new IllegalArgumentException("No method " + owner.getName() + "." + name
+                        + (arity < 0 ? "" : " taking " + arity + " arguments"));
+            }
+            return found;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+// This code extends the Adapter example with generated adapters. Instead of writing a class like PaymentSystemAdapter for every legacy
+// integration, AdapterFactory takes a declarative mapping (interface method -> legacy method, plus optional per-argument converters) and
+// defines a hidden class that implements the interface. Each interface method is compiled once, when the mapping is bound, into a
+// MethodHandle that converts the arguments and calls the legacy method, and the generated method calls that handle as a class constant,
+// so the JIT inlines it the way it inlines the direct call in a handwritten adapter.
+
+// to run this file run below command
+// javac com\designpatterns\structural\AdapterFactoryDemo.java
+// java com.designpatterns.structural.AdapterFactoryDemo
+
+package com.designpatterns.structural;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+public class AdapterFactoryDemo {
+    public static void main(String[] args) throws ReflectiveOperationException {
+        // The same mapping PaymentSystemAdapter hand-codes, declared instead of written
+        AdapterFactory<PaymentProcessor, LegacyPaymentSystem> factory = AdapterFactory
+                .builder(MethodHandles.lookup(), PaymentProcessor.class, LegacyPaymentSystem.class)
+                .bind("processPayment", "makePayment")
+                .bind("refundPayment", "reverseTransaction")
+                .build();
+        PaymentGateway gateway = new PaymentGateway(factory.adapt(new LegacyPaymentSystem()));
+        gateway.executePayment(100.00);
+        gateway.executeRefund(50.00);
+
+        // A converter rounds to whole cents before the legacy float conversion
+        MethodHandle toCents = MethodHandles.lookup().findStatic(AdapterFactoryDemo.class, "roundToCents",
+                MethodType.methodType(float.class, double.class));
+        PaymentProcessor rounding = AdapterFactory
+                .builder(MethodHandles.lookup(), PaymentProcessor.class, LegacyPaymentSystem.class)
+                .bind("processPayment", "makePayment", toCents)
+                .bind("refundPayment", "reverseTransaction", toCents)
+                .build()
+                .adapt(new LegacyPaymentSystem());
+        new PaymentGateway(rounding).executePayment(19.994);
+    }
+
+    private static float roundToCents(double amount) {
+        return (float) (Math.round(amount * 100) / 100.0);
+    }
+}
@@ -2,70 +2,41 @@
 // The LegacyPaymentSystem has methods for processing payments in an old system, but doesn't implement the new PaymentProcessor interface.
 // The PaymentSystemAdapter acts as a bridge by converting calls from the PaymentProcessor interface into methods that the legacy system understands.
 // The PaymentGateway class interacts with the new PaymentProcessor interface, allowing it to execute payments and refunds using both modern and legacy systems.
+// The BatchingPaymentAdapter groups many callers' payments into bulk legacy calls, with a cap on how many bulk calls run at once.
 
 
 package com.designpatterns.structural;
 
-interface PaymentProcessor {
-    void processPayment(double amount);
-    void refundPayment(double amount);
-}
-
-class LegacyPaymentSystem {
-    public void makePayment(float amount) {
-        System.out.println("Legacy system processing payment of $" + amount);
-    }
-
-    public void reverseTransaction(float amount) {
-        System.out.println("Legacy system reversing transaction of $" + amount);
-    }
-}
-
-class PaymentSystemAdapter implements PaymentProcessor {
-    private LegacyPaymentSystem legacySystem;
-
-    public PaymentSystemAdapter(LegacyPaymentSystem legacySystem) {
-        this.legacySystem = legacySystem;
-    }
-
-    @Override
-    public void processPayment(double amount) {
-        System.out.println("Adapter: Converting processPayment call to legacy system");
-        legacySystem.makePayment((float) amount);
-    }
-
-    @Override
-    public void refundPayment(double amount) {
-        System.out.println("Adapter: Converting refundPayment call to legacy system");
-        legacySystem.reverseTransaction((float) amount);
-    }
-}
-
-class PaymentGateway {
-    private PaymentProcessor paymentProcessor;
-
-    public PaymentGateway(PaymentProcessor paymentProcessor) {
-        this.paymentProcessor = paymentProcessor;
-    }
-
-    public void executePayment(double amount) {
-        System.out.println("Payment Gateway: Executing payment of $" + amount);
-        paymentProcessor.processPayment(amount);
-    }
-
-    public void executeRefund(double amount) {
-        System.out.println("Payment Gateway: Executing refund of $" + amount);
-        paymentProcessor.refundPayment(amount);
-    }
-}
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class AdapterPatternDemo {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         LegacyPaymentSystem legacySystem = new LegacyPaymentSystem();
         PaymentProcessor adapter = new PaymentSystemAdapter(legacySystem);
         PaymentGateway gateway = new PaymentGateway(adapter);
 
         gateway.executePayment(100.00);
         gateway.executeRefund(50.00);
+
+        // Many callers sharing one gateway: their payments reach the legacy system as a few bulk calls
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        ExecutorService legacyCalls = Executors.newFixedThreadPool(2);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try (BatchingPaymentAdapter batching = new BatchingPaymentAdapter(legacySystem, scheduler, legacyCalls, 10, Duration.ofMillis(20), 2)) {
+            PaymentGateway batchedGateway = new PaymentGateway(batching);
+            for (int i = 0; i < 24; i++) {
+                double amount = 10.01 + i;
+                callers.execute(() -> batchedGateway.executePayment(amount));
+            }
+            callers.shutdown();
+            callers.awaitTermination(5, TimeUnit.SECONDS);
+        } finally {
+            legacyCalls.shutdown();
+            scheduler.shutdown();
+        }
     }
 }
\ No newline at end of file
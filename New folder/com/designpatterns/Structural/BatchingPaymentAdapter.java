@@ -0,0 +1,245 @@
+package com.designpatterns.structural;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Collects payments and refunds into batches and settles each batch with one
+// bulk legacy call. A batch is sealed when it reaches maxBatchSize or when
+// maxDelay has passed since its first entry, whichever comes first. Sealed
+// batches queue for the bulkhead: at most maxConcurrentCalls bulk calls run on
+// the executor at once, and a finishing call starts the next queued batch, so
+// no thread ever waits on the semaphore. Amounts travel as long cents from the
+// caller to the legacy system, and every caller's future completes with the
+// outcome of its own batch.
+//
+// processPayment and refundPayment wait for that outcome, so PaymentGateway
+// works unchanged; they should not be called from the executor's own threads.
+// After close(), and when the scheduler refuses a batch's timer, submissions
+// fail with RejectedExecutionException and never reach the legacy system.
+class BatchingPaymentAdapter implements PaymentProcessor, AutoCloseable {
+    private final LegacyPaymentSystem legacySystem;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Semaphore bulkhead;
+    private final ConcurrentLinkedQueue<Batch> sealed = new ConcurrentLinkedQueue<>();
+
+    private Batch openPayments;
+    private Batch openRefunds;
+    private boolean closed;
+
+    public BatchingPaymentAdapter(LegacyPaymentSystem legacySystem, ScheduledExecutorService scheduler, Executor executor,
+                                  int maxBatchSize, Duration maxDelay, int maxConcurrentCalls) {
+        if (maxBatchSize <= 0 || maxConcurrentCalls <= 0 || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Limits must be positive");
+        }
+        this.legacySystem = legacySystem;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+    }
+
+    @Override
+    public void processPayment(double amount) {
+        await(submitPayment(amount));
+    }
+
+    @Override
+    public void refundPayment(double amount) {
+        await(submitRefund(amount));
+    }
+
+    public CompletableFuture<Void> submitPayment(double amount) {
+        return submit(false, toCents(amount));
+    }
+
+    public CompletableFuture<Void> submitRefund(double amount) {
+        return submit(true, toCents(amount));
+    }
+
+    // Seals whatever is waiting in the open windows; later submissions are rejected
+    @Override
+    public void close() {
+        Batch payments;
+        Batch refunds;
+        synchronized (this) {
+            closed = true;
+            payments = openPayments;
+            refunds = openRefunds;
+            openPayments = null;
+            openRefunds = null;
+        }
+        dispatch(payments);
+        dispatch(refunds);
+    }
+
+    private CompletableFuture<Void> submit(boolean refund, long cents) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        Batch full = null;
+        Batch opened = null;
+        synchronized (this) {
+            if (closed) {
+                result.completeExceptionally(new RejectedExecutionException("Payment adapter is closed"));
+                return result;
+            }
+            Batch batch = refund ? openRefunds : openPayments;
+            if (batch == null) {
+                batch = new Batch(refund, maxBatchSize);
+                opened = batch;
+                if (refund) {
+                    openRefunds = batch;
+                } else {
+                    openPayments = batch;
+                }
+            }
+            batch.add(cents, result);
+            if (batch.count == maxBatchSize) {
+                full = batch;
+                if (refund) {
+                    openRefunds = null;
+                } else {
+                    openPayments = null;
+                }
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        } else if (opened != null) {
+            Batch window = opened;
+            try {
+                scheduler.schedule(() -> expire(window), maxDelayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                abandon(window, e);
+            }
+        }
+        return result;
+    }
+
+    // Without its timer a window might never be sealed, so take it back out and
+    // fail everything in it, unless a full batch or close() has sealed it already
+    private void abandon(Batch batch, RejectedExecutionException cause) {
+        synchronized (this) {
+            if (batch == openPayments) {
+                openPayments = null;
+            } else if (batch == openRefunds) {
+                openRefunds = null;
+            } else {
+                return;
+            }
+        }
+        batch.complete(cause);
+    }
+
+    private void expire(Batch batch) {
+        synchronized (this) {
+            if (batch == openPayments) {
+                openPayments = null;
+            } else if (batch == openRefunds) {
+                openRefunds = null;
+            } else {
+                return; // already sealed by size or close()
+            }
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        if (batch != null) {
+            sealed.offer(batch);
+            startQueuedCalls();
+        }
+    }
+
+    private void startQueuedCalls() {
+        while (!sealed.isEmpty() && bulkhead.tryAcquire()) {
+            Batch batch = sealed.poll();
+            if (batch == null) {
+                bulkhead.release();
+                continue;
+            }
+            try {
+                executor.execute(() -> settle(batch));
+            } catch (RejectedExecutionException e) {
+                bulkhead.release();
+                batch.complete(e);
+            }
+        }
+    }
+
+    // Whatever the legacy bulk call throws, Errors included, completes the
+    // batch exceptionally, so no caller blocked in await() is left hanging
+    private void settle(Batch batch) {
+        Throwable failure = null;
+        try {
+            if (batch.refund) {
+                legacySystem.reverseTransactions(batch.cents, batch.count);
+            } else {
+                legacySystem.makePayments(batch.cents, batch.count);
+            }
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            bulkhead.release();
+        }
+        batch.complete(failure);
+        startQueuedCalls();
+    }
+
+    private static long toCents(double amount) {
+        if (!(amount >= 0) || amount > Long.MAX_VALUE / 100.0) {
+            throw new IllegalArgumentException("Invalid amount: " + amount);
+        }
+        return Math.round(amount * 100);
+    }
+
+    private static void await(CompletableFuture<Void> result) {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Batch {
+        final boolean refund;
+        final long[] cents;
+        final CompletableFuture<?>[] results;
+        int count;
+
+        Batch(boolean refund, int capacity) {
+            this.refund = refund;
+            this.cents = new long[capacity];
+            this.results = new CompletableFuture<?>[capacity];
+        }
+
+        void add(long amountInCents, CompletableFuture<Void> result) {
+            cents[count] = amountInCents;
+            results[count++] = result;
+        }
+
+        void complete(Throwable failure) {
+            for (int i = 0; i < count; i++) {
+                if (failure == null) {
+                    results[i].complete(null);
+                } else {
+                    results[i].completeExceptionally(failure);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.designpatterns.structural;
+
+interface Coffee {
+    String getDescription();
+    double getCost();
+}
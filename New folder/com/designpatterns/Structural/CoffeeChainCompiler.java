@@ -0,0 +1,49 @@
+package com.designpatterns.structural;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Flattens a decorator stack into a CompiledCoffee in one pass over the
+// layers. Flattening stops at the first layer that is not a CoffeeDecorator
+// describing its add-on; that layer and everything under it are evaluated
+// once and become the base.
+final class CoffeeChainCompiler {
+    private CoffeeChainCompiler() {
+    }
+
+    public static CompiledCoffee compile(Coffee coffee) {
+        if (coffee instanceof CompiledCoffee) {
+            return (CompiledCoffee) coffee;
+        }
+        List<CoffeeDecorator> layers = new ArrayList<>();
+        Coffee base = coffee;
+        while (base instanceof CoffeeDecorator && ((CoffeeDecorator) base).getAddOnName() != null) {
+            layers.add((CoffeeDecorator) base);
+            base = ((CoffeeDecorator) base).decoratedCoffee;
+        }
+
+        double cost = base.getCost();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            CoffeeDecorator layer = layers.get(i);
+            cost += layer.getAddOnCost();
+            counts.merge(layer.getAddOnName(), 1, Integer::sum);
+        }
+
+        StringBuilder description = new StringBuilder(base.getDescription());
+        String[] addOns = new String[counts.size()];
+        int[] addOnCounts = new int[counts.size()];
+        int index = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            description.append(", ").append(entry.getKey());
+            if (entry.getValue() > 1) {
+                description.append(" x").append(entry.getValue());
+            }
+            addOns[index] = entry.getKey();
+            addOnCounts[index++] = entry.getValue();
+        }
+        return new CompiledCoffee(description.toString(), cost, addOns, addOnCounts);
+    }
+}
@@ -0,0 +1,29 @@
+package com.designpatterns.structural;
+
+abstract class CoffeeDecorator implements Coffee {
+    protected Coffee decoratedCoffee;
+
+    public CoffeeDecorator(Coffee coffee) {
+        this.decoratedCoffee = coffee;
+    }
+
+    @Override
+    public String getDescription() {
+        return decoratedCoffee.getDescription();
+    }
+
+    @Override
+    public double getCost() {
+        return decoratedCoffee.getCost();
+    }
+
+    // The add-on this layer contributes, which lets CoffeeChainCompiler flatten
+    // it. A decorator that returns null is kept as an opaque layer.
+    protected String getAddOnName() {
+        return null;
+    }
+
+    protected double getAddOnCost() {
+        return 0;
+    }
+}
@@ -0,0 +1,316 @@
+// This code extends the Decorator example with a pricing engine for large order volumes. Orders come from a small set of combinations,
+// so instead of building a SimpleCoffee and a decorator per add-on for every order, CoffeePricingEngine turns each order into a canonical
+// key (how many of each add-on, regardless of the order they were listed in) and shares one immutable CompiledCoffee per key.
+// The shared coffees live in a bounded LRU cache, batches are priced in parallel on a ForkJoinPool, and totals are summed in long cents.
+
+// to run this file run below command
+// javac com\designpatterns\structural\CoffeePricingDemo.java
+// java com.designpatterns.structural.CoffeePricingDemo [orders]
+
+package com.designpatterns.structural;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+enum AddOn {
+    MILK(MilkDecorator::new),
+    SUGAR(SugarDecorator::new),
+    WHIPPED_CREAM(WhippedCreamDecorator::new);
+
+    private final UnaryOperator<Coffee> decorator;
+
+    AddOn(UnaryOperator<Coffee> decorator) {
+        this.decorator = decorator;
+    }
+
+    public Coffee decorate(Coffee coffee) {
+        return decorator.apply(coffee);
+    }
+}
+
+// Thread-safe. The cache is split into segments, each an access-ordered
+// LinkedHashMap guarded by its own lock, so parallel pricing threads rarely
+// contend; eviction is least-recently-used within a segment. By default there
+// are up to four segments per core, but never fewer than MIN_PER_SEGMENT entries
+// in a segment, so a small cache is not split into slots that evict each other.
+class CoffeePricingEngine {
+    // A key holds one 8-bit count per add-on, in AddOn order
+    private static final int BITS_PER_ADD_ON = 8;
+    private static final int MAX_COUNT = (1 << BITS_PER_ADD_ON) - 1;
+    private static final int LEAF_ORDERS = 8_192;
+    static final int MIN_PER_SEGMENT = 16;
+
+    static {
+        if (AddOn.values().length * BITS_PER_ADD_ON > Long.SIZE) {
+            throw new ExceptionInInitializerError("Too many add-ons for a packed order key");
+        }
+    }
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CoffeePricingEngine(int capacity) {
+        this(capacity, defaultSegmentCount(capacity));
+    }
+
+    public CoffeePricingEngine(int capacity, int segmentCount) {
+        if (segmentCount < 1 || Integer.bitCount(segmentCount) != 1 || capacity < segmentCount) {
+            throw new IllegalArgumentException("Need a power-of-two segment count no larger than the capacity");
+        }
+        // The remainder goes one entry each to the first segments, so the
+        // segments add up to exactly the requested capacity
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0), evictions);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    private static int defaultSegmentCount(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int bySize = Math.max(1, capacity / MIN_PER_SEGMENT);
+        int byCores = Math.max(1, Runtime.getRuntime().availableProcessors() * 4);
+        return Integer.highestOneBit(Math.min(bySize, byCores));
+    }
+
+    // The same add-ons in any order give the same key
+    public static long keyOf(AddOn... addOns) {
+        long key = 0;
+        for (AddOn addOn : addOns) {
+            int shift = addOn.ordinal() * BITS_PER_ADD_ON;
+            if ((key >>> shift & MAX_COUNT) == MAX_COUNT) {
+                throw new IllegalArgumentException("More than " + MAX_COUNT + " x " + addOn);
+            }
+            key += 1L << shift;
+        }
+        return key;
+    }
+
+    public CompiledCoffee coffeeFor(AddOn... addOns) {
+        return coffeeForKey(keyOf(addOns));
+    }
+
+    public long priceInCents(AddOn... addOns) {
+        return coffeeFor(addOns).getCostInCents();
+    }
+
+    public Result priceAll(ForkJoinPool pool, AddOn[][] orders) {
+        return pool.invoke(new PricingTask(orders, 0, orders.length));
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // Entries dropped to make room; stays 0 while the working set fits
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private CompiledCoffee coffeeForKey(long key) {
+        Result counts = new Result();
+        CompiledCoffee coffee = lookup(key, counts);
+        hits.add(counts.hits);
+        misses.add(counts.misses);
+        return coffee;
+    }
+
+    private CompiledCoffee lookup(long key, Result counts) {
+        Segment segment = segments[(int) (mix(key) & segmentMask)];
+        synchronized (segment) {
+            CompiledCoffee coffee = segment.get(key);
+            if (coffee != null) {
+                counts.hits++;
+                return coffee;
+            }
+            counts.misses++;
+            coffee = build(key);
+            segment.put(key, coffee);
+            return coffee;
+        }
+    }
+
+    // Decorates in canonical AddOn order, then flattens the chain so every
+    // order sharing the key also shares one precomputed cost and description
+    private static CompiledCoffee build(long key) {
+        Coffee coffee = new SimpleCoffee();
+        for (AddOn addOn : AddOn.values()) {
+            long count = key >>> (addOn.ordinal() * BITS_PER_ADD_ON) & MAX_COUNT;
+            for (long i = 0; i < count; i++) {
+                coffee = addOn.decorate(coffee);
+            }
+        }
+        return CoffeeChainCompiler.compile(coffee);
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    // Splits the order range; leaves sum cents into a primitive total and
+    // count their own hits and misses, publishing them to the engine-wide
+    // counters once per leaf
+    private class PricingTask extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final AddOn[][] orders;
+        private final int from;
+        private final int to;
+
+        PricingTask(AddOn[][] orders, int from, int to) {
+            this.orders = orders;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from > LEAF_ORDERS) {
+                int mid = (from + to) >>> 1;
+                PricingTask left = new PricingTask(orders, from, mid);
+                left.fork();
+                Result right = new PricingTask(orders, mid, to).compute();
+                return left.join().merge(right);
+            }
+
+            Result result = new Result();
+            for (int i = from; i < to; i++) {
+                result.totalCents += lookup(keyOf(orders[i]), result).getCostInCents();
+            }
+            result.orders = to - from;
+            hits.add(result.hits);
+            misses.add(result.misses);
+            return result;
+        }
+    }
+
+    static class Result {
+        private long orders;
+        private long totalCents;
+        private long hits;
+        private long misses;
+
+        Result merge(Result other) {
+            orders += other.orders;
+            totalCents += other.totalCents;
+            hits += other.hits;
+            misses += other.misses;
+            return this;
+        }
+
+        public long getOrders() {
+            return orders;
+        }
+
+        public long getTotalCents() {
+            return totalCents;
+        }
+
+        public double getHitRate() {
+            return orders == 0 ? 0 : (double) hits / orders;
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<Long, CompiledCoffee> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final transient LongAdder evictions;
+
+        Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CompiledCoffee> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
+
+public class CoffeePricingDemo {
+    // Orders of up to four add-ons drawn from three kinds: 1 + 3 + 6 + 10 + 15 multisets
+    private static final int COMBINATIONS = 35;
+
+    public static void main(String[] args) {
+        CoffeePricingEngine engine = new CoffeePricingEngine(64);
+
+        // The same combination listed in a different order is the same shared coffee
+        CompiledCoffee first = engine.coffeeFor(AddOn.MILK, AddOn.SUGAR, AddOn.MILK);
+        CompiledCoffee second = engine.coffeeFor(AddOn.SUGAR, AddOn.MILK, AddOn.MILK);
+        System.out.println(first.getDescription() + " | " + first.getCostInCents() + " cents | shared: " + (first == second));
+
+        // A large batch drawn from a few dozen combinations
+        int orderCount = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        AddOn[][] orders = randomOrders(orderCount, new SplittableRandom(42));
+
+        for (int round = 0; round < 3; round++) {
+            long started = System.nanoTime();
+            double naiveTotal = 0;
+            for (AddOn[] order : orders) {
+                Coffee coffee = new SimpleCoffee();
+                for (AddOn addOn : order) {
+                    coffee = addOn.decorate(coffee);
+                }
+                naiveTotal += coffee.getCost();
+            }
+            long naiveNanos = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            CoffeePricingEngine.Result result = engine.priceAll(ForkJoinPool.commonPool(), orders);
+            long engineNanos = System.nanoTime() - started;
+
+            System.out.printf("round %d: %,d orders, decorators per order %.0f ms ($%.2f), engine %.0f ms ($%d.%02d), hit rate %.4f%n",
+                    round, result.getOrders(), naiveNanos / 1e6, naiveTotal, engineNanos / 1e6,
+                    result.getTotalCents() / 100, result.getTotalCents() % 100, result.getHitRate());
+        }
+        System.out.printf("cache: %,d hits, %,d misses, hit rate %.4f%n", engine.getHits(), engine.getMisses(), engine.getHitRate());
+
+        // Every combination should have been built once and then stayed cached
+        if (engine.getEvictions() != 0 || engine.getMisses() > COMBINATIONS) {
+            throw new IllegalStateException("Working set of " + COMBINATIONS + " combinations did not stay resident: "
+                    + engine.getEvictions() + " evictions, " + engine.getMisses() + " misses");
+        }
+    }
+
+    // Up to four add-ons each, listed in random order
+    private static AddOn[][] randomOrders(int count, SplittableRandom random) {
+        AddOn[] addOns = AddOn.values();
+        AddOn[][] orders = new AddOn[count][];
+        for (int i = 0; i < count; i++) {
+            AddOn[] order = new AddOn[random.nextInt(5)];
+            for (int j = 0; j < order.length; j++) {
+                order[j] = addOns[random.nextInt(addOns.length)];
+            }
+            orders[i] = order;
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,48 @@
+package com.designpatterns.structural;
+
+// A Coffee with everything precomputed: the cost is summed once, in the same
+// order the decorator chain would add it, and the description is built once
+// with repeated add-ons collapsed ("Simple Coffee, Milk x2, Sugar").
+final class CompiledCoffee implements Coffee {
+    private final String description;
+    private final double cost;
+    private final long costInCents;
+    private final String[] addOns;
+    private final int[] counts;
+
+    CompiledCoffee(String description, double cost, String[] addOns, int[] counts) {
+        this.description = description;
+        this.cost = cost;
+        this.costInCents = Math.round(cost * 100);
+        this.addOns = addOns;
+        this.counts = counts;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public double getCost() {
+        return cost;
+    }
+
+    public long getCostInCents() {
+        return costInCents;
+    }
+
+    public int getCount(String addOn) {
+        for (int i = 0; i < addOns.length; i++) {
+            if (addOns[i].equals(addOn)) {
+                return counts[i];
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
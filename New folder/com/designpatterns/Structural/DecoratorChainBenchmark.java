@@ -0,0 +1,71 @@
+// Measures getCost and getDescription on decorator chains of increasing depth, first on the chain itself and then on the CompiledCoffee
+// that CoffeeChainCompiler produces from it. The chain cycles through milk, sugar and whipped cream so every add-on repeats.
+
+// to run this file run below command
+// javac com\designpatterns\structural\DecoratorChainBenchmark.java
+// java com.designpatterns.structural.DecoratorChainBenchmark
+
+package com.designpatterns.structural;
+
+public class DecoratorChainBenchmark {
+    private static final int[] DEPTHS = {10, 100, 1_000};
+    private static final long CALL_BUDGET = 20_000_000; // layer visits per measurement
+
+    private static double sink;
+
+    public static void main(String[] args) {
+        for (int round = 0; round < 3; round++) {
+            for (int depth : DEPTHS) {
+                Coffee chain = chain(depth);
+                long started = System.nanoTime();
+                Coffee compiled = CoffeeChainCompiler.compile(chain);
+                long compileNanos = System.nanoTime() - started;
+                int calls = (int) Math.max(1_000, CALL_BUDGET / depth);
+                System.out.printf("round %d, depth %,5d: getCost %,10.1f -> %.1f ns, getDescription %,12.1f -> %.1f ns, compile %,d ns%n",
+                        round, depth, costNanos(chain, calls), costNanos(compiled, calls),
+                        descriptionNanos(chain, calls / 10), descriptionNanos(compiled, calls), compileNanos);
+            }
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static Coffee chain(int depth) {
+        Coffee coffee = new SimpleCoffee();
+        for (int i = 0; i < depth; i++) {
+            switch (i % 3) {
+                case 0:
+                    coffee = new MilkDecorator(coffee);
+                    break;
+                case 1:
+                    coffee = new SugarDecorator(coffee);
+                    break;
+                default:
+                    coffee = new WhippedCreamDecorator(coffee);
+                    break;
+            }
+        }
+        return coffee;
+    }
+
+    private static double costNanos(Coffee coffee, int calls) {
+        double total = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            total += coffee.getCost();
+        }
+        long elapsed = System.nanoTime() - started;
+        sink += total;
+        return (double) elapsed / calls;
+    }
+
+    private static double descriptionNanos(Coffee coffee, int calls) {
+        long length = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            length += coffee.getDescription().length();
+        }
+        long elapsed = System.nanoTime() - started;
+        sink += length;
+        return (double) elapsed / calls;
+    }
+}
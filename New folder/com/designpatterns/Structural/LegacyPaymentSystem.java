@@ -0,0 +1,32 @@
+package com.designpatterns.structural;
+
+class LegacyPaymentSystem {
+    public void makePayment(float amount) {
+        System.out.println("Legacy system processing payment of $" + amount);
+    }
+
+    public void reverseTransaction(float amount) {
+        System.out.println("Legacy system reversing transaction of $" + amount);
+    }
+
+    // Batch entry points: the first count amounts, in cents, settled in one call
+    public void makePayments(long[] amountsInCents, int count) {
+        System.out.println("Legacy system processing batch of " + count + " payments totalling $" + formatCents(sum(amountsInCents, count)));
+    }
+
+    public void reverseTransactions(long[] amountsInCents, int count) {
+        System.out.println("Legacy system reversing batch of " + count + " transactions totalling $" + formatCents(sum(amountsInCents, count)));
+    }
+
+    private static long sum(long[] amountsInCents, int count) {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += amountsInCents[i];
+        }
+        return total;
+    }
+
+    private static String formatCents(long cents) {
+        return String.format("%d.%02d", cents / 100, cents % 100);
+    }
+}
@@ -0,0 +1,27 @@
+package com.designpatterns.structural;
+
+class MilkDecorator extends CoffeeDecorator {
+    public MilkDecorator(Coffee coffee) {
+        super(coffee);
+    }
+
+    @Override
+    public String getDescription() {
+        return super.getDescription() + ", " + getAddOnName();
+    }
+
+    @Override
+    public double getCost() {
+        return super.getCost() + getAddOnCost();
+    }
+
+    @Override
+    protected String getAddOnName() {
+        return "Milk";
+    }
+
+    @Override
+    protected double getAddOnCost() {
+        return 0.5;
+    }
+}
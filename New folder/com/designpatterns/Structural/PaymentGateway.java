@@ -0,0 +1,19 @@
+package com.designpatterns.structural;
+
+class PaymentGateway {
+    private PaymentProcessor paymentProcessor;
+
+    public PaymentGateway(PaymentProcessor paymentProcessor) {
+        this.paymentProcessor = paymentProcessor;
+    }
+
+    public void executePayment(double amount) {
+        System.out.println("Payment Gateway: Executing payment of $" + amount);
+        paymentProcessor.processPayment(amount);
+    }
+
+    public void executeRefund(double amount) {
+        System.out.println("Payment Gateway: Executing refund of $" + amount);
+        paymentProcessor.refundPayment(amount);
+    }
+}
@@ -0,0 +1,6 @@
+package com.designpatterns.structural;
+
+interface PaymentProcessor {
+    void processPayment(double amount);
+    void refundPayment(double amount);
+}
@@ -0,0 +1,21 @@
+package com.designpatterns.structural;
+
+class PaymentSystemAdapter implements PaymentProcessor {
+    private LegacyPaymentSystem legacySystem;
+
+    public PaymentSystemAdapter(LegacyPaymentSystem legacySystem) {
+        this.legacySystem = legacySystem;
+    }
+
+    @Override
+    public void processPayment(double amount) {
+        System.out.println("Adapter: Converting processPayment call to legacy system");
+        legacySystem.makePayment((float) amount);
+    }
+
+    @Override
+    public void refundPayment(double amount) {
+        System.out.println("Adapter: Converting refundPayment call to legacy system");
+        legacySystem.reverseTransaction((float) amount);
+    }
+}
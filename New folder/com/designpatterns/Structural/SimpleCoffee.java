@@ -0,0 +1,13 @@
+package com.designpatterns.structural;
+
+class SimpleCoffee implements Coffee {
+    @Override
+    public String getDescription() {
+        return "Simple Coffee";
+    }
+
+    @Override
+    public double getCost() {
+        return 1.0;
+    }
+}
@@ -0,0 +1,139 @@
+// Cost of one StockMarket.publish as the number of subscribed observers grows, with all observers of one class or spread over three
+// classes (which makes Observer.update megamorphic inside the fan-out loop), and the same fan-out handed to a TickDispatcher, where the
+// publisher only writes a ring slot and the observers run on their own consumer threads.
+// Investor prints every update, so the observers here only keep the latest price.
+
+package com.designpatterns.behavioral;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(1) // TickDispatcher has a single publisher
+public class ObserverFanOutBenchmark {
+    private static final String[] SYMBOLS = {"AAPL", "GOOGL", "MSFT", "AMZN"};
+
+    @State(Scope.Benchmark)
+    public static class Direct {
+        @Param({"1", "16", "256"})
+        int observers;
+
+        @Param({"1", "3"})
+        int receiverTypes;
+
+        StockMarket market;
+        int tick;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            market = new StockMarket();
+            for (int i = 0; i < observers; i++) {
+                Observer observer = newObserver(i % receiverTypes);
+                for (String symbol : SYMBOLS) {
+                    market.subscribe(symbol, observer);
+                }
+            }
+        }
+    }
+
+    // Kept apart from Direct so its consumer threads only run during the dispatcher benchmark
+    @State(Scope.Benchmark)
+    public static class Dispatched {
+        @Param({"1", "16", "256"})
+        int observers;
+
+        @Param({"1", "3"})
+        int receiverTypes;
+
+        StockMarket market;
+        TickDispatcher dispatcher;
+        int tick;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            dispatcher = new TickDispatcher(1 << 14);
+            for (int i = 0; i < observers; i++) {
+                dispatcher.addObserver(newObserver(i % receiverTypes));
+            }
+            dispatcher.start();
+            market = new StockMarket();
+            for (String symbol : SYMBOLS) {
+                market.subscribe(symbol, dispatcher);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            dispatcher.close();
+        }
+    }
+
+    @Benchmark
+    public void publish(Direct state) {
+        int next = state.tick++;
+        state.market.publish(SYMBOLS[next & 3], 100.0 + (next & 1023) * 0.01);
+    }
+
+    // Publisher-side cost only; once the ring is full it also includes waiting for the slowest consumer
+    @Benchmark
+    public void publishThroughDispatcher(Dispatched state) {
+        int next = state.tick++;
+        state.market.publish(SYMBOLS[next & 3], 100.0 + (next & 1023) * 0.01);
+    }
+
+    private static Observer newObserver(int kind) {
+        switch (kind) {
+            case 0:
+                return new LastPrice();
+            case 1:
+                return new HighestPrice();
+            default:
+                return new TickCounter();
+        }
+    }
+
+    static final class LastPrice implements Observer {
+        double price;
+
+        @Override
+        public void update(String stockSymbol, double price) {
+            this.price = price;
+        }
+    }
+
+    static final class HighestPrice implements Observer {
+        double highest;
+
+        @Override
+        public void update(String stockSymbol, double price) {
+            highest = Math.max(highest, price);
+        }
+    }
+
+    static final class TickCounter implements Observer {
+        long ticks;
+
+        @Override
+        public void update(String stockSymbol, double price) {
+            ticks++;
+        }
+    }
+}
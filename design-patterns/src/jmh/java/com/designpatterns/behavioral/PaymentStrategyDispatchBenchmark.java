@@ -0,0 +1,109 @@
+// Cost of PaymentStrategy.pay at a call site that sees one, two, three or five strategy classes (monomorphic, bimorphic, megamorphic).
+// The strategies shipped with the Strategy example print every payment, which would dwarf the dispatch being measured, so the receivers
+// here are quiet strategies that only accumulate the amount.
+
+package com.designpatterns.behavioral;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PaymentStrategyDispatchBenchmark {
+    private static final int RECEIVERS = 1024;
+
+    private static final List<Supplier<QuietPayment>> KINDS = List.of(
+            CardPayment::new, WalletPayment::new, CryptoPayment::new, TransferPayment::new, VoucherPayment::new);
+
+    @Param({"1", "2", "3", "5"})
+    int receiverTypes;
+
+    private PaymentStrategy[] strategies;
+    private QuietPayment[] distinct;
+
+    @Setup
+    public void setUp() {
+        distinct = new QuietPayment[receiverTypes];
+        for (int i = 0; i < receiverTypes; i++) {
+            distinct[i] = KINDS.get(i).get();
+        }
+        List<PaymentStrategy> receivers = new ArrayList<>();
+        for (int i = 0; i < RECEIVERS; i++) {
+            receivers.add(distinct[i % receiverTypes]);
+        }
+        Collections.shuffle(receivers, new Random(42));
+        strategies = receivers.toArray(new PaymentStrategy[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECEIVERS)
+    public void pay(Blackhole blackhole) {
+        for (PaymentStrategy strategy : strategies) {
+            strategy.pay(19.99);
+        }
+        for (QuietPayment payment : distinct) {
+            blackhole.consume(payment.total);
+        }
+    }
+
+    abstract static class QuietPayment implements PaymentStrategy {
+        double total;
+    }
+
+    static final class CardPayment extends QuietPayment {
+        @Override
+        public void pay(double amount) {
+            total += amount;
+        }
+    }
+
+    static final class WalletPayment extends QuietPayment {
+        @Override
+        public void pay(double amount) {
+            total += amount;
+        }
+    }
+
+    static final class CryptoPayment extends QuietPayment {
+        @Override
+        public void pay(double amount) {
+            total += amount;
+        }
+    }
+
+    static final class TransferPayment extends QuietPayment {
+        @Override
+        public void pay(double amount) {
+            total += amount;
+        }
+    }
+
+    static final class VoucherPayment extends QuietPayment {
+        @Override
+        public void pay(double amount) {
+            total += amount;
+        }
+    }
+}
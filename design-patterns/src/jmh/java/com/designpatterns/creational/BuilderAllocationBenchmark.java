@@ -0,0 +1,60 @@
+// Allocation and time per Computer for the ways a configuration can be obtained: a fresh Builder chain, a variation of a preset through
+// toBuilder(), and the director's cached preset. Run with the GC profiler (the BenchmarkRunner default) and compare gc.alloc.rate.norm.
+
+package com.designpatterns.creational;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BuilderAllocationBenchmark {
+    private final ComputerConfigurator configurator = new ComputerConfigurator();
+    private final Computer.Builder reusedBuilder = new Computer.Builder()
+            .cpu("Intel Core i7")
+            .ram("16GB DDR4")
+            .storage("512GB SSD")
+            .gpu("NVIDIA GTX 1660");
+
+    @Benchmark
+    public Computer buildFromScratch() {
+        return new Computer.Builder()
+                .cpu("Intel Core i7")
+                .ram("16GB DDR4")
+                .storage("512GB SSD")
+                .gpu("NVIDIA GTX 1660")
+                .addPeripheral("Mouse")
+                .build();
+    }
+
+    // Peripherals are copy-on-write, so building repeatedly from one builder allocates only the Computer
+    @Benchmark
+    public Computer buildFromReusedBuilder() {
+        return reusedBuilder.build();
+    }
+
+    @Benchmark
+    public Computer variationOfPreset() {
+        return configurator.configureGamingPC().toBuilder()
+                .gpu("NVIDIA RTX 4090")
+                .build();
+    }
+
+    @Benchmark
+    public Computer cachedPreset() {
+        return configurator.configureGamingPC();
+    }
+}
@@ -0,0 +1,58 @@
+// Cost of DocumentFactory.createDocument at a call site that sees one, two or three factory classes (monomorphic, bimorphic,
+// megamorphic). Each call allocates a document, so the GC profiler's gc.alloc.rate.norm shows the per-document allocation as well.
+
+package com.designpatterns.creational;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DocumentFactoryDispatchBenchmark {
+    private static final int RECEIVERS = 1024;
+    private static final String[] FORMATS = {"pdf", "word", "html"};
+
+    @Param({"1", "2", "3"})
+    int receiverTypes;
+
+    private DocumentFactory[] factories;
+
+    @Setup
+    public void setUp() {
+        List<DocumentFactory> receivers = new ArrayList<>();
+        for (int i = 0; i < RECEIVERS; i++) {
+            receivers.add(DocumentFactoryRegistry.get(FORMATS[i % receiverTypes]));
+        }
+        Collections.shuffle(receivers, new Random(42));
+        factories = receivers.toArray(new DocumentFactory[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECEIVERS)
+    public void createDocument(Blackhole blackhole) {
+        for (DocumentFactory factory : factories) {
+            blackhole.consume(factory.createDocument());
+        }
+    }
+}
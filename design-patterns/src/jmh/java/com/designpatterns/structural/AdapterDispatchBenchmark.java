@@ -0,0 +1,131 @@
+// Cost of one processPayment call through a handwritten adapter, an AdapterFactory adapter and a reflective adapter that calls the
+// legacy method with Method.invoke. The legacy system only accumulates the amount and none of the adapters print, so the numbers
+// reflect the call path. Each benchmark method has its own call site, so every site sees a single adapter class.
+
+package com.designpatterns.structural;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AdapterDispatchBenchmark {
+    private CountingLegacySystem legacy;
+    private PaymentProcessor handwritten;
+    private PaymentProcessor generated;
+    private PaymentProcessor reflective;
+    private double amount = 12.5;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        legacy = new CountingLegacySystem();
+        handwritten = new QuietPaymentSystemAdapter(legacy);
+        generated = AdapterFactory
+                .builder(MethodHandles.lookup(), PaymentProcessor.class, LegacyPaymentSystem.class)
+                .bind("processPayment", "makePayment")
+                .bind("refundPayment", "reverseTransaction")
+                .build()
+                .adapt(legacy);
+        reflective = new ReflectivePaymentSystemAdapter(legacy);
+    }
+
+    @Benchmark
+    public double handwritten() {
+        handwritten.processPayment(amount);
+        return legacy.total;
+    }
+
+    @Benchmark
+    public double generated() {
+        generated.processPayment(amount);
+        return legacy.total;
+    }
+
+    @Benchmark
+    public double methodInvoke() {
+        reflective.processPayment(amount);
+        return legacy.total;
+    }
+
+    static final class CountingLegacySystem extends LegacyPaymentSystem {
+        double total;
+
+        @Override
+        public void makePayment(float amount) {
+            total += amount;
+        }
+
+        @Override
+        public void reverseTransaction(float amount) {
+            total -= amount;
+        }
+    }
+
+    // PaymentSystemAdapter without its logging
+    static final class QuietPaymentSystemAdapter implements PaymentProcessor {
+        private final LegacyPaymentSystem legacySystem;
+
+        QuietPaymentSystemAdapter(LegacyPaymentSystem legacySystem) {
+            this.legacySystem = legacySystem;
+        }
+
+        @Override
+        public void processPayment(double amount) {
+            legacySystem.makePayment((float) amount);
+        }
+
+        @Override
+        public void refundPayment(double amount) {
+            legacySystem.reverseTransaction((float) amount);
+        }
+    }
+
+    static final class ReflectivePaymentSystemAdapter implements PaymentProcessor {
+        private final LegacyPaymentSystem legacySystem;
+        private final Method makePayment;
+        private final Method reverseTransaction;
+
+        ReflectivePaymentSystemAdapter(LegacyPaymentSystem legacySystem) throws NoSuchMethodException {
+            this.legacySystem = legacySystem;
+            this.makePayment = LegacyPaymentSystem.class.getMethod("makePayment", float.class);
+            this.reverseTransaction = LegacyPaymentSystem.class.getMethod("reverseTransaction", float.class);
+        }
+
+        @Override
+        public void processPayment(double amount) {
+            invoke(makePayment, amount);
+        }
+
+        @Override
+        public void refundPayment(double amount) {
+            invoke(reverseTransaction, amount);
+        }
+
+        private void invoke(Method method, double amount) {
+            try {
+                method.invoke(legacySystem, (float) amount);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+// Cost of Coffee.getCost at a call site that sees one, two, three or five receiver classes. HotSpot inlines up to two receiver types at a
+// call site, so 1 is monomorphic, 2 bimorphic and 3 or more megamorphic (a virtual call per element). The receivers are shuffled so the
+// type sequence is not predictable.
+
+package com.designpatterns.structural;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CoffeeDispatchBenchmark {
+    private static final int RECEIVERS = 1024;
+
+    private static final List<Supplier<Coffee>> KINDS = List.of(
+            SimpleCoffee::new,
+            () -> CoffeeChainCompiler.compile(new MilkDecorator(new SimpleCoffee())),
+            () -> new MilkDecorator(new SimpleCoffee()),
+            () -> new SugarDecorator(new SimpleCoffee()),
+            () -> new WhippedCreamDecorator(new SimpleCoffee()));
+
+    @Param({"1", "2", "3", "5"})
+    int receiverTypes;
+
+    private Coffee[] coffees;
+
+    @Setup
+    public void setUp() {
+        List<Coffee> receivers = new ArrayList<>();
+        for (int i = 0; i < RECEIVERS; i++) {
+            receivers.add(KINDS.get(i % receiverTypes).get());
+        }
+        Collections.shuffle(receivers, new Random(42));
+        coffees = receivers.toArray(new Coffee[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECEIVERS)
+    public double getCost() {
+        double total = 0;
+        for (Coffee coffee : coffees) {
+            total += coffee.getCost();
+        }
+        return total;
+    }
+}